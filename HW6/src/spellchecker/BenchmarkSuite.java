@@ -0,0 +1,507 @@
+// File: BenchmarkSuite.java
+package src.spellchecker;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Microbenchmarks for the GTU collections and the suggestion engines, each
+ * next to its java.util counterpart as a baseline.
+ *
+ * Every benchmark is warmed up before it is measured, so the JIT has compiled
+ * the code under test, and then timed over several iterations; the report
+ * gives the mean time per operation and its standard deviation across
+ * iterations. Results are folded into a sink so the JIT cannot discard the
+ * work being measured.
+ *
+ * Usage: java src.spellchecker.BenchmarkSuite [filter...]
+ * Only benchmarks whose name contains one of the filters are run, e.g.
+ * "java src.spellchecker.BenchmarkSuite HashMap suggest".
+ */
+public class BenchmarkSuite {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURE_ITERATIONS = 10;
+    private static final double[] LOAD_FACTORS = { 0.25, 0.5, 0.7 };
+    private static final String[] MISSPELLINGS = { "helo", "speling", "algoritm", "recieve", "definately",
+            "occurence", "seperate", "wierd", "untill", "beleive", "accomodate", "tommorow", "goverment",
+            "enviroment", "neccessary", "independant", "begining", "calender", "existance", "publically" };
+    private static final String[] PREFIXES = { "a", "al", "alg", "s", "sp", "spe", "spel", "th", "the", "un",
+            "inter", "qu", "x", "zz", "re", "pre", "con", "hel", "wor", "abc" };
+
+    /**
+     * One benchmark. setup runs before every timed invocation and is not
+     * measured; run performs operations operations and returns a value
+     * derived from their results.
+     */
+    private interface Benchmark {
+        default void setup() {
+        }
+
+        long run();
+    }
+
+    private static long sink; // Consumes benchmark results
+    private static String[] filters;
+
+    public static void main(String[] args) throws IOException {
+        filters = args;
+        String[] words = readWords("dictionary.txt");
+        String[] misses = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            misses[i] = words[i] + "#"; // Never in the dictionary
+        }
+        System.out.printf("%d dictionary words, %d warmup and %d measured iterations.%n%n", words.length,
+                WARMUP_ITERATIONS, MEASURE_ITERATIONS);
+        System.out.printf("%-45s %14s %12s%n", "Benchmark", "ns/op", "stddev");
+
+        benchmarkHashMaps(words, misses);
+        benchmarkHashSets(words, misses);
+        benchmarkArrayLists(words);
+        benchmarkSuggestions(words);
+        benchmarkPrefixes(words);
+        System.out.println("\nsink: " + sink);
+    }
+
+    // GTUHashMap against java.util.HashMap, presized so the table is at each load factor.
+    private static void benchmarkHashMaps(String[] words, String[] misses) {
+        int n = words.length;
+        for (double loadFactor : LOAD_FACTORS) {
+            int capacity = (int) (n / loadFactor);
+            String suffix = String.format(" (load %.2f)", loadFactor);
+
+            GTUHashMap<String, Integer> gtu = new GTUHashMap<>(capacity);
+            HashMap<String, Integer> java = new HashMap<>(capacity);
+            for (int i = 0; i < n; i++) {
+                gtu.put(words[i], i);
+                java.put(words[i], i);
+            }
+
+            measure("GTUHashMap.put" + suffix, n, () -> {
+                GTUHashMap<String, Integer> map = new GTUHashMap<>(capacity);
+                for (int i = 0; i < n; i++) {
+                    map.put(words[i], i);
+                }
+                return map.size();
+            });
+            measure("HashMap.put" + suffix, n, () -> {
+                HashMap<String, Integer> map = new HashMap<>(capacity);
+                for (int i = 0; i < n; i++) {
+                    map.put(words[i], i);
+                }
+                return map.size();
+            });
+            measure("GTUHashMap.get hit" + suffix, n, () -> {
+                long sum = 0;
+                for (String word : words) {
+                    sum += gtu.get(word);
+                }
+                return sum;
+            });
+            measure("HashMap.get hit" + suffix, n, () -> {
+                long sum = 0;
+                for (String word : words) {
+                    sum += java.get(word);
+                }
+                return sum;
+            });
+            measure("GTUHashMap.get miss" + suffix, n, () -> {
+                long found = 0;
+                for (String miss : misses) {
+                    found += gtu.get(miss) == null ? 0 : 1;
+                }
+                return found;
+            });
+            measure("HashMap.get miss" + suffix, n, () -> {
+                long found = 0;
+                for (String miss : misses) {
+                    found += java.get(miss) == null ? 0 : 1;
+                }
+                return found;
+            });
+            measure("GTUHashMap.remove" + suffix, n, new Benchmark() {
+                private GTUHashMap<String, Integer> map;
+
+                @Override
+                public void setup() {
+                    map = new GTUHashMap<>(capacity);
+                    for (int i = 0; i < n; i++) {
+                        map.put(words[i], i);
+                    }
+                }
+
+                @Override
+                public long run() {
+                    for (String word : words) {
+                        map.remove(word);
+                    }
+                    return map.size();
+                }
+            });
+            measure("HashMap.remove" + suffix, n, new Benchmark() {
+                private HashMap<String, Integer> map;
+
+                @Override
+                public void setup() {
+                    map = new HashMap<>(capacity);
+                    for (int i = 0; i < n; i++) {
+                        map.put(words[i], i);
+                    }
+                }
+
+                @Override
+                public long run() {
+                    for (String word : words) {
+                        map.remove(word);
+                    }
+                    return map.size();
+                }
+            });
+        }
+    }
+
+    // Dictionary membership: every word once and every miss once.
+    private static void benchmarkHashSets(String[] words, String[] misses) {
+        GTUHashSet<String> gtu = new GTUHashSet<>(120000);
+        HashSet<String> java = new HashSet<>();
+        StringHashSet strings = new StringHashSet(words.length);
+        for (String word : words) {
+            gtu.add(word);
+            java.add(word);
+            strings.add(word);
+        }
+        FrozenHashSet<String> frozen = gtu.freeze();
+        int operations = 2 * words.length;
+        measure("GTUHashSet.contains", operations, () -> {
+            long found = 0;
+            for (int i = 0; i < words.length; i++) {
+                found += (gtu.contains(words[i]) ? 1 : 0) + (gtu.contains(misses[i]) ? 1 : 0);
+            }
+            return found;
+        });
+        measure("FrozenHashSet.contains", operations, () -> {
+            long found = 0;
+            for (int i = 0; i < words.length; i++) {
+                found += (frozen.contains(words[i]) ? 1 : 0) + (frozen.contains(misses[i]) ? 1 : 0);
+            }
+            return found;
+        });
+        measure("StringHashSet.contains", operations, () -> {
+            long found = 0;
+            for (int i = 0; i < words.length; i++) {
+                found += (strings.contains(words[i]) ? 1 : 0) + (strings.contains(misses[i]) ? 1 : 0);
+            }
+            return found;
+        });
+        measure("HashSet.contains", operations, () -> {
+            long found = 0;
+            for (int i = 0; i < words.length; i++) {
+                found += (java.contains(words[i]) ? 1 : 0) + (java.contains(misses[i]) ? 1 : 0);
+            }
+            return found;
+        });
+        measure("GTUHashSet.iterate", words.length, () -> {
+            long length = 0;
+            for (String word : gtu) {
+                length += word.length();
+            }
+            return length;
+        });
+        measure("HashSet.iterate", words.length, () -> {
+            long length = 0;
+            for (String word : java) {
+                length += word.length();
+            }
+            return length;
+        });
+        measure("GTUHashSet.parallelStream", words.length, () -> gtu.parallelStream().mapToLong(String::length).sum());
+        measure("HashSet.parallelStream", words.length, () -> java.parallelStream().mapToLong(String::length).sum());
+    }
+
+    private static void benchmarkArrayLists(String[] words) {
+        int n = words.length;
+        GTUArrayList<String> gtu = new GTUArrayList<>();
+        ArrayList<String> java = new ArrayList<>();
+        for (String word : words) {
+            gtu.add(word);
+            java.add(word);
+        }
+        measure("GTUArrayList.add", n, () -> {
+            GTUArrayList<String> list = new GTUArrayList<>();
+            for (String word : words) {
+                list.add(word);
+            }
+            return list.size();
+        });
+        measure("ArrayList.add", n, () -> {
+            ArrayList<String> list = new ArrayList<>();
+            for (String word : words) {
+                list.add(word);
+            }
+            return list.size();
+        });
+        measure("GTUArrayList.addAll", n, () -> {
+            GTUArrayList<String> list = new GTUArrayList<>();
+            list.addAll(gtu);
+            return list.size();
+        });
+        measure("ArrayList.addAll", n, () -> {
+            ArrayList<String> list = new ArrayList<>();
+            list.addAll(java);
+            return list.size();
+        });
+        measure("GTUArrayList<Integer>.add", n, () -> {
+            GTUArrayList<Integer> list = new GTUArrayList<>();
+            for (int i = 0; i < n; i++) {
+                list.add(i);
+            }
+            return list.size();
+        });
+        measure("IntArrayList.add", n, () -> {
+            IntArrayList list = new IntArrayList();
+            for (int i = 0; i < n; i++) {
+                list.add(i);
+            }
+            return list.size();
+        });
+        measure("GTUArrayList.iterate", n, () -> {
+            long length = 0;
+            for (String word : gtu) {
+                length += word.length();
+            }
+            return length;
+        });
+        measure("ArrayList.iterate", n, () -> {
+            long length = 0;
+            for (String word : java) {
+                length += word.length();
+            }
+            return length;
+        });
+    }
+
+    // End-to-end suggestion latency over a fixed list of misspellings.
+    private static void benchmarkSuggestions(String[] words) {
+        GTUHashSet<String> gtu = new GTUHashSet<>(120000);
+        HashSet<String> java = new HashSet<>();
+        StringHashSet strings = new StringHashSet(words.length);
+        for (String word : words) {
+            gtu.add(word);
+            java.add(word);
+            strings.add(word);
+        }
+        WordSet gtuWords = WordSet.of(gtu);
+        WordSet javaWords = wordSetOf(java);
+
+        measureSuggestions("suggest edits (GTUHashSet)", word -> EditDistanceHelper.generateSuggestions(word, gtuWords));
+        WordSet filtered = new BloomFilteredWordSet(gtuWords);
+        measureSuggestions("suggest edits (GTUHashSet + Bloom)",
+                word -> EditDistanceHelper.generateSuggestions(word, filtered));
+        measureSuggestions("suggest edits (StringHashSet)",
+                word -> EditDistanceHelper.generateSuggestions(word, strings));
+        measureSuggestions("suggest edits (java.util.HashSet)",
+                word -> EditDistanceHelper.generateSuggestions(word, javaWords));
+        measureSuggestions("suggest trie", new TrieSuggester(gtuWords, 2));
+        Dawg dawg = new Dawg(gtuWords);
+        measureSuggestions("suggest dawg", word -> dawg.search(word, 2));
+        if (selected("suggest symspell")) { // The index takes seconds to build
+            measureSuggestions("suggest symspell", new SymSpellIndex(gtuWords, 2));
+        }
+    }
+
+    // Top-10 completion latency and the heap footprint of the prefix index against its alternatives.
+    private static void benchmarkPrefixes(String[] words) {
+        GTUArrayList<String> wordList = new GTUArrayList<>(words.length);
+        for (String word : words) {
+            wordList.add(word);
+        }
+        PrefixIndex index = new PrefixIndex(wordList);
+        int rounds = 1000; // Queries are short; repeat them so the JIT compiles them during warmup
+        measure("PrefixIndex.prefix (k=10)", rounds * PREFIXES.length, () -> {
+            long found = 0;
+            for (int round = 0; round < rounds; round++) {
+                for (String prefix : PREFIXES) {
+                    found += index.prefix(prefix, 10).size();
+                }
+            }
+            return found;
+        });
+        measure("PrefixIndex.countPrefix", rounds * PREFIXES.length, () -> {
+            long found = 0;
+            for (int round = 0; round < rounds; round++) {
+                for (String prefix : PREFIXES) {
+                    found += index.countPrefix(prefix);
+                }
+            }
+            return found;
+        });
+
+        if (!selected("memory")) {
+            return;
+        }
+        // The words themselves are kept alive by words[], so only the structures are counted
+        System.out.printf("%nmemory PrefixIndex: %d KB (estimated %d KB)%n",
+                retainedBytes(() -> new PrefixIndex(wordList)) / 1024, index.getMemoryBytes() / 1024);
+        System.out.printf("memory sorted String[] (structure only): %d KB%n", retainedBytes(() -> {
+            String[] sorted = words.clone();
+            Arrays.sort(sorted);
+            return sorted;
+        }) / 1024);
+        System.out.printf("memory sorted String[] (with copied Strings): %d KB%n", retainedBytes(() -> {
+            String[] sorted = new String[words.length];
+            for (int i = 0; i < words.length; i++) {
+                sorted[i] = new String(words[i].toCharArray());
+            }
+            return sorted;
+        }) / 1024);
+        System.out.printf("memory TrieSuggester: %d KB%n", retainedBytes(() -> new TrieSuggester(wordList, 2)) / 1024);
+        Dawg dawg = new Dawg(wordList);
+        System.out.printf("memory Dawg (words included): %d KB (estimated %d KB, %d states, %d edges)%n",
+                retainedBytes(() -> new Dawg(wordList)) / 1024, dawg.getMemoryBytes() / 1024, dawg.getStateCount(),
+                dawg.getEdgeCount());
+        System.out.printf("memory GTUHashSet (with copied Strings): %d KB%n", retainedBytes(() -> {
+            GTUHashSet<String> set = new GTUHashSet<>();
+            for (String word : words) {
+                set.add(new String(word.toCharArray()));
+            }
+            return set;
+        }) / 1024);
+        System.out.printf("memory GTUHashSet (structure only): %d KB%n", retainedBytes(() -> {
+            GTUHashSet<String> set = new GTUHashSet<>();
+            set.addAll(words);
+            return set;
+        }) / 1024);
+    }
+
+    /**
+     * Measures how much more heap is in use while the built object is reachable,
+     * after forcing garbage collections. Only an approximation, but enough to
+     * compare structures that differ by several times.
+     */
+    private static long retainedBytes(Supplier<Object> builder) {
+        long before = usedHeapAfterGc();
+        Object built = builder.get();
+        long after = usedHeapAfterGc();
+        sink += built.hashCode(); // Keeps the structure reachable until here
+        return Math.max(0, after - before);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void measureSuggestions(String name, SuggestionEngine engine) {
+        measure(name, MISSPELLINGS.length, () -> {
+            long found = 0;
+            for (String misspelling : MISSPELLINGS) {
+                found += engine.suggest(misspelling).size();
+            }
+            return found;
+        });
+    }
+
+    // Baseline WordSet over java.util.HashSet; containsChars has to build a String.
+    private static WordSet wordSetOf(HashSet<String> set) {
+        return new WordSet() {
+            @Override
+            public boolean containsWord(String word) {
+                return set.contains(word);
+            }
+
+            @Override
+            public boolean containsChars(char[] buffer, int length, int hashCode) {
+                return set.contains(new String(buffer, 0, length));
+            }
+
+            @Override
+            public int size() {
+                return set.size();
+            }
+
+            @Override
+            public Iterator<String> iterator() {
+                return set.iterator();
+            }
+        };
+    }
+
+    private static boolean selected(String name) {
+        if (filters.length == 0) {
+            return true;
+        }
+        for (String filter : filters) {
+            if (name.contains(filter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Warms up and measures one benchmark, then prints its mean time per
+     * operation and the standard deviation across the measured iterations.
+     */
+    private static void measure(String name, int operations, Benchmark benchmark) {
+        if (!selected(name)) {
+            return;
+        }
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            benchmark.setup();
+            sink += benchmark.run();
+        }
+        double[] nanosPerOp = new double[MEASURE_ITERATIONS];
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            benchmark.setup();
+            long start = System.nanoTime();
+            sink += benchmark.run();
+            nanosPerOp[i] = (double) (System.nanoTime() - start) / operations;
+        }
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= MEASURE_ITERATIONS;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double stddev = Math.sqrt(variance / (MEASURE_ITERATIONS - 1));
+        System.out.printf("%-45s %14.1f %12.1f%n", name, mean, stddev);
+    }
+
+    private static String[] readWords(String fileName) throws IOException {
+        GTUArrayList<String> words = new GTUArrayList<>(1 << 17);
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName), 65536)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    words.add(line);
+                }
+            }
+        }
+        // Distinct words only, so the maps hold exactly words.length keys
+        GTUHashSet<String> seen = new GTUHashSet<>(120000);
+        GTUArrayList<String> distinct = new GTUArrayList<>(words.size());
+        for (String word : words) {
+            if (seen.add(word)) {
+                distinct.add(word);
+            }
+        }
+        String[] result = new String[distinct.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = distinct.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+// File: BloomFilteredWordSet.java
+package src.spellchecker;
+
+import java.util.Iterator;
+
+/**
+ * A WordSet that answers most misses from a blocked Bloom filter before
+ * touching the wrapped dictionary.
+ * The edit distance 2 expansion probes tens of thousands of variations per
+ * query and almost all of them are not words. The filter is split into 512 bit
+ * blocks (one 64 byte cache line); a word sets HASHES bits inside a single
+ * block chosen by its hash, so a lookup reads one cache line and most misses
+ * are rejected without a probe sequence or a String comparison. Words the
+ * filter lets through are checked against the wrapped dictionary, so answers
+ * are always exact.
+ *
+ * Only String.hashCode() is used, which containsChars already receives; all
+ * bit positions are derived from it by multiplicative mixing.
+ * The filter is built once from the dictionary and is read-only afterwards,
+ * so it is safe to share between threads if the dictionary is.
+ */
+public class BloomFilteredWordSet implements WordSet {
+    private static final int BLOCK_LONGS = 8; // 8 * 64 bits = one 64 byte cache line
+    private static final int BLOCK_BITS = BLOCK_LONGS * 64;
+    private static final int HASHES = 6; // Bits set per word, 9 bits of mixed hash each
+    private static final int DEFAULT_BITS_PER_WORD = 10;
+
+    private final WordSet dictionary;
+    private final long[] bits;
+    private final int blocks;
+
+    public BloomFilteredWordSet(WordSet dictionary) {
+        this(dictionary, DEFAULT_BITS_PER_WORD);
+    }
+
+    /**
+     * Builds the filter from every word of the dictionary.
+     *
+     * @param dictionary  The dictionary to filter; must not change afterwards.
+     * @param bitsPerWord Filter bits per word; more bits give fewer false positives.
+     */
+    public BloomFilteredWordSet(WordSet dictionary, int bitsPerWord) {
+        if (bitsPerWord < 1) {
+            throw new IllegalArgumentException("Illegal bits per word: " + bitsPerWord);
+        }
+        this.dictionary = dictionary;
+        long totalBits = (long) Math.max(dictionary.size(), 1) * bitsPerWord;
+        this.blocks = (int) Math.max(1, (totalBits + BLOCK_BITS - 1) / BLOCK_BITS);
+        this.bits = new long[blocks * BLOCK_LONGS];
+        for (String word : dictionary) {
+            add(word.hashCode());
+        }
+    }
+
+    // First block word of the block a hash code maps to.
+    private int blockStart(int hashCode) {
+        long mixed = (hashCode & 0xFFFFFFFFL) * 0x9E3779B97F4A7C15L;
+        int high = (int) (mixed >>> 32);
+        return (int) (((high & 0xFFFFFFFFL) * blocks) >>> 32) * BLOCK_LONGS; // Maps to [0, blocks) without modulo
+    }
+
+    // HASHES 9 bit positions inside the block, packed into one long.
+    private static long positions(int hashCode) {
+        long mixed = (hashCode ^ 0x5BD1E995L) * 0xC2B2AE3D27D4EB4FL;
+        return mixed ^ (mixed >>> 29);
+    }
+
+    private void add(int hashCode) {
+        int start = blockStart(hashCode);
+        long positions = positions(hashCode);
+        for (int i = 0; i < HASHES; i++, positions >>>= 9) {
+            int bit = (int) (positions & (BLOCK_BITS - 1));
+            bits[start + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Checks if a word with this hash code might be in the dictionary.
+     *
+     * @param hashCode The String.hashCode() of the word.
+     * @return false if the word is certainly absent, true if it may be present.
+     */
+    public boolean mightContain(int hashCode) {
+        int start = blockStart(hashCode);
+        long positions = positions(hashCode);
+        for (int i = 0; i < HASHES; i++, positions >>>= 9) {
+            int bit = (int) (positions & (BLOCK_BITS - 1));
+            if ((bits[start + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean containsWord(String word) {
+        return mightContain(word.hashCode()) && dictionary.containsWord(word);
+    }
+
+    @Override
+    public boolean containsChars(char[] buffer, int length, int hashCode) {
+        return mightContain(hashCode) && dictionary.containsChars(buffer, length, hashCode);
+    }
+
+    @Override
+    public int probeLength(char[] buffer, int length, int hashCode) {
+        return mightContain(hashCode) ? dictionary.probeLength(buffer, length, hashCode) : 0; // Rejected by the filter
+    }
+
+    @Override
+    public int size() {
+        return dictionary.size();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return dictionary.iterator();
+    }
+
+    // Returns the wrapped dictionary.
+    public WordSet getDictionary() {
+        return dictionary;
+    }
+
+    // Returns the size of the filter in bytes.
+    public long getFilterBytes() {
+        return (long) bits.length * 8;
+    }
+
+    /**
+     * Estimates the false positive rate from the share of bits that are set,
+     * ignoring the unevenness between blocks.
+     *
+     * @return The estimated probability that an absent word passes the filter.
+     */
+    public double estimateFalsePositiveRate() {
+        long set = 0;
+        for (long word : bits) {
+            set += Long.bitCount(word);
+        }
+        return Math.pow((double) set / ((long) bits.length * 64), HASHES);
+    }
+}
@@ -0,0 +1,185 @@
+// File: CharArrayList.java
+package src.spellchecker;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of char values backed by a char[], e.g. to pack many short
+ * words back to back (with their offsets in an IntArrayList) instead of
+ * allocating one char[] or String per word.
+ */
+public class CharArrayList {
+    private static final int DEFAULT_CAPACITY = 10;
+    private char[] elements;
+    private int size;
+
+    public CharArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CharArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        this.elements = new char[initialCapacity];
+    }
+
+    /**
+     * Adds a value to the end of the list.
+     * 
+     * @param value The value to be added.
+     */
+    public void add(char value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Appends every value of an array, growing the list at most once.
+     * 
+     * @param values The values to append.
+     */
+    public void addAll(char[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * Appends a range of an array, growing the list at most once.
+     * 
+     * @param values The array holding the values.
+     * @param offset Index of the first value to append.
+     * @param length Number of values to append.
+     */
+    public void addAll(char[] values, int offset, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, elements, size, length);
+        size += length;
+    }
+
+    /**
+     * Copies the values [from, to) into target.
+     * 
+     * @param from         Index of the first value to copy.
+     * @param to           Index after the last value to copy.
+     * @param target       The destination array.
+     * @param targetOffset Where the first value is written in target.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public void getChars(int from, int to, char[] target, int targetOffset) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Size: " + size);
+        }
+        System.arraycopy(elements, from, target, targetOffset, to - from);
+    }
+
+    /**
+     * Retrieves the value at the specified index.
+     * 
+     * @param index The index of the value to retrieve.
+     * @return The value at the specified index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public char get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Replaces the value at the specified index.
+     * 
+     * @param index The index of the value to replace.
+     * @param value The new value.
+     * @return The previous value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public char set(int index, char value) {
+        checkIndex(index);
+        char previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * Removes the value at the specified index and shifts the following values
+     * to the left.
+     * 
+     * @param index The index of the value to remove.
+     * @return The removed value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public char removeAt(int index) {
+        checkIndex(index);
+        char removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Removes every value but keeps the capacity.
+    public void clear() {
+        size = 0;
+    }
+
+    // Sorts the values in ascending order.
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    /**
+     * Grows the internal array, if needed, so that minCapacity values fit
+     * without further copying.
+     * 
+     * @param minCapacity The number of values the list should hold.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(elements.length == 0 ? DEFAULT_CAPACITY : elements.length * 2, minCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    // Shrinks the internal array to the number of values.
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = Arrays.copyOf(elements, size);
+        }
+    }
+
+    // Returns the values in a new array of exactly size() elements.
+    public char[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,311 @@
+// File: CompiledDictionary.java
+package src.spellchecker;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A dictionary compiled into a binary open-addressing hash table that is
+ * queried straight from a memory-mapped file.
+ * Opening it only maps the file, so startup does not depend on the number of
+ * words, nothing is deserialised, and every JVM using the same file shares the
+ * operating system's page cache. The edit alphabet (Language.deriveAlphabet)
+ * is computed when compiling and stored in the header, so it does not have to
+ * be derived from every word at startup either.
+ *
+ * File layout (big-endian ints):
+ * <pre>
+ * header : MAGIC, VERSION, wordCount, slotCount, dataStart, alphabetLength,
+ *          the alphabet's chars (2 bytes each), padded to a multiple of 4 bytes
+ * slots  : slotCount pairs of (hash, offset + 1); offset + 1 == 0 marks an empty slot
+ * data   : per word, its length followed by its chars (2 bytes each)
+ * </pre>
+ * Version 1 files have no alphabet fields; their slots follow the first five ints.
+ * slotCount is a power of two kept at most half full; collisions are resolved
+ * with linear probing starting from a mixed String.hashCode().
+ *
+ * Build one with: java src.spellchecker.CompiledDictionary dictionary.txt dictionary.bin
+ */
+public class CompiledDictionary implements WordSet {
+    private static final int MAGIC = 0x47545544; // "GTUD"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 6 * 4; // Before the alphabet; 5 * 4 in version 1
+    private static final int SLOT_BYTES = 2 * 4;
+
+    private final MappedByteBuffer buffer;
+    private final int wordCount;
+    private final int slotCount;
+    private final int slotStart;
+    private final int dataStart;
+    private final char[] alphabet; // null for version 1 files
+
+    private CompiledDictionary(MappedByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a compiled dictionary file");
+        }
+        int version = buffer.getInt(4);
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported compiled dictionary version: " + version);
+        }
+        this.buffer = buffer;
+        this.wordCount = buffer.getInt(8);
+        this.slotCount = buffer.getInt(12);
+        this.dataStart = buffer.getInt(16);
+        if (version == 1) {
+            this.alphabet = null;
+            this.slotStart = 5 * 4;
+        } else {
+            this.alphabet = new char[buffer.getInt(20)];
+            for (int i = 0; i < alphabet.length; i++) {
+                alphabet[i] = buffer.getChar(HEADER_BYTES + 2 * i);
+            }
+            this.slotStart = slotStart(alphabet.length);
+        }
+    }
+
+    // Offset of the first slot: the header and the alphabet, rounded up to whole ints.
+    private static int slotStart(int alphabetLength) {
+        return (HEADER_BYTES + 2 * alphabetLength + 3) & ~3;
+    }
+
+    /**
+     * Maps a compiled dictionary file into memory.
+     *
+     * @param fileName The file written by compile.
+     * @return The mapped dictionary.
+     * @throws IOException If the file cannot be mapped or is not a compiled dictionary.
+     */
+    public static CompiledDictionary open(String fileName) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "r");
+                FileChannel channel = file.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            return new CompiledDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Compiles the words of a text dictionary (one word per line) into a binary
+     * dictionary file, together with their alphabet. Duplicate words are stored
+     * once.
+     *
+     * @param textFile   The text dictionary.
+     * @param binaryFile The file to write.
+     * @return The number of distinct words written.
+     * @throws IOException If reading or writing fails.
+     */
+    public static int compile(String textFile, String binaryFile) throws IOException {
+        GTUArrayList<String> words = new GTUArrayList<>(1 << 17);
+        try (BufferedReader reader = new BufferedReader(new FileReader(textFile, StandardCharsets.UTF_8), 65536)) {
+            String word;
+            while ((word = reader.readLine()) != null) {
+                word = word.trim();
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+
+        int slotCount = Integer.highestOneBit(Math.max(words.size(), 1) * 2 - 1) << 1; // >= 2x words
+        int[] slotHashes = new int[slotCount];
+        int[] slotOffsets = new int[slotCount]; // offset + 1, 0 means empty
+        GTUArrayList<String> unique = new GTUArrayList<>(words.size());
+        int dataBytes = 0;
+
+        for (String word : words) {
+            int hash = word.hashCode();
+            int index = mix(hash) & (slotCount - 1);
+            boolean duplicate = false;
+            while (slotOffsets[index] != 0) {
+                if (slotHashes[index] == hash && unique.get(slotOffsets[index] - 1).equals(word)) {
+                    duplicate = true;
+                    break;
+                }
+                index = (index + 1) & (slotCount - 1);
+            }
+            if (duplicate) {
+                continue;
+            }
+            unique.add(word);
+            slotHashes[index] = hash;
+            slotOffsets[index] = unique.size(); // Temporarily the word's position + 1
+            dataBytes += 4 + 2 * word.length();
+        }
+
+        // Word positions become byte offsets into the data area
+        int[] byteOffsets = new int[unique.size()];
+        int offset = 0;
+        for (int i = 0; i < unique.size(); i++) {
+            byteOffsets[i] = offset;
+            offset += 4 + 2 * unique.get(i).length();
+        }
+
+        char[] alphabet = Language.deriveAlphabet(unique);
+        int slotStart = slotStart(alphabet.length);
+        int dataStart = slotStart + slotCount * SLOT_BYTES;
+        ByteBuffer out = ByteBuffer.allocate(dataStart + dataBytes);
+        out.putInt(MAGIC).putInt(VERSION).putInt(unique.size()).putInt(slotCount).putInt(dataStart)
+                .putInt(alphabet.length);
+        for (char c : alphabet) {
+            out.putChar(c);
+        }
+        out.position(slotStart);
+        for (int i = 0; i < slotCount; i++) {
+            out.putInt(slotHashes[i]);
+            out.putInt(slotOffsets[i] == 0 ? 0 : byteOffsets[slotOffsets[i] - 1] + 1);
+        }
+        for (String word : unique) {
+            out.putInt(word.length());
+            for (int i = 0; i < word.length(); i++) {
+                out.putChar(word.charAt(i));
+            }
+        }
+        out.flip();
+
+        try (RandomAccessFile file = new RandomAccessFile(binaryFile, "rw");
+                FileChannel channel = file.getChannel()) {
+            channel.truncate(0);
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        return unique.size();
+    }
+
+    // Spreads the bits of String.hashCode() so the low bits used for the slot are well mixed.
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public boolean containsWord(String word) {
+        int hash = word.hashCode();
+        int index = mix(hash) & (slotCount - 1);
+        while (true) {
+            int slot = slotStart + index * SLOT_BYTES;
+            int offset = buffer.getInt(slot + 4);
+            if (offset == 0) {
+                return false;
+            }
+            if (buffer.getInt(slot) == hash && matches(offset - 1, word)) {
+                return true;
+            }
+            index = (index + 1) & (slotCount - 1);
+        }
+    }
+
+    @Override
+    public boolean containsChars(char[] chars, int length, int hashCode) {
+        int index = mix(hashCode) & (slotCount - 1);
+        while (true) {
+            int slot = slotStart + index * SLOT_BYTES;
+            int offset = buffer.getInt(slot + 4);
+            if (offset == 0) {
+                return false;
+            }
+            if (buffer.getInt(slot) == hashCode && matches(offset - 1, chars, length)) {
+                return true;
+            }
+            index = (index + 1) & (slotCount - 1);
+        }
+    }
+
+    private boolean matches(int offset, String word) {
+        int position = dataStart + offset;
+        int length = buffer.getInt(position);
+        if (length != word.length()) {
+            return false;
+        }
+        position += 4;
+        for (int i = 0; i < length; i++) {
+            if (buffer.getChar(position + 2 * i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(int offset, char[] chars, int length) {
+        int position = dataStart + offset;
+        if (buffer.getInt(position) != length) {
+            return false;
+        }
+        position += 4;
+        for (int i = 0; i < length; i++) {
+            if (buffer.getChar(position + 2 * i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the alphabet stored when the dictionary was compiled, most
+     * frequent character first, as Language.deriveAlphabet orders it.
+     *
+     * @return A copy of the alphabet, or null if the file predates stored
+     *         alphabets and it has to be derived from the words.
+     */
+    public char[] getAlphabet() {
+        return alphabet == null ? null : alphabet.clone();
+    }
+
+    /**
+     * Returns an iterator over the words in the order they were compiled.
+     * Each call creates the Strings it returns.
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int position = dataStart;
+
+            @Override
+            public boolean hasNext() {
+                return position < buffer.capacity();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int length = buffer.getInt(position);
+                char[] chars = new char[length];
+                for (int i = 0; i < length; i++) {
+                    chars[i] = buffer.getChar(position + 4 + 2 * i);
+                }
+                position += 4 + 2 * length;
+                return new String(chars);
+            }
+        };
+    }
+
+    /**
+     * Compiles a text dictionary into a binary dictionary file.
+     *
+     * @param args The text dictionary and the output file.
+     * @throws IOException If reading or writing fails.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: java src.spellchecker.CompiledDictionary <dictionary.txt> <dictionary.bin>");
+            return;
+        }
+        long start = System.nanoTime();
+        int count = compile(args[0], args[1]);
+        System.out.printf("Compiled %d words into %s in %.2f ms.\n", count, args[1], (System.nanoTime() - start) / 1e6);
+    }
+}
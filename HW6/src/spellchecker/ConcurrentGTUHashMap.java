@@ -0,0 +1,304 @@
+// File: ConcurrentGTUHashMap.java
+package src.spellchecker;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe hash map with lock-free reads and striped write locks.
+ * The keys are spread over a fixed number of segments, each with its own lock
+ * and its own chained hash table. Writers lock only the segment of their key;
+ * readers never lock. Chain links are immutable and bucket heads are published
+ * through an AtomicReferenceArray, so a reader always walks a consistent chain.
+ * A segment grows by building a new table under its lock and publishing it
+ * with a single volatile write: readers still holding the old table keep
+ * reading valid chains, so resizing never blocks them.
+ *
+ * Null keys and null values are not supported.
+ *
+ * @param <K> The type of keys maintained by this map.
+ * @param <V> The type of mapped values.
+ */
+public class ConcurrentGTUHashMap<K, V> {
+    private static final int DEFAULT_SEGMENTS = 16;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR_THRESHOLD = 0.75;
+
+    /**
+     * A chain link. Only the value may change after the node is published.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private final int hash;
+        private volatile V value;
+        private final Node<K, V> next;
+
+        Node(K key, int hash, V value, Node<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * One lock stripe with its own table.
+     */
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile AtomicReferenceArray<Node<K, V>> table;
+        private volatile int count;
+
+        Segment(int capacity) {
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+
+    public ConcurrentGTUHashMap() {
+        this(DEFAULT_SEGMENTS * DEFAULT_CAPACITY, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * @param initialCapacity Expected number of entries.
+     * @param concurrency     Expected number of concurrent writers; rounded up
+     *                        to a power of two to give the number of segments.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public ConcurrentGTUHashMap(int initialCapacity, int concurrency) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        if (concurrency < 1)
+            throw new IllegalArgumentException("Illegal concurrency: " + concurrency);
+        int segmentCount = powerOfTwoAtLeast(concurrency);
+        int perSegment = powerOfTwoAtLeast((int) (initialCapacity / segmentCount / LOAD_FACTOR_THRESHOLD) + 1);
+        this.segments = (Segment<K, V>[]) new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    private static int powerOfTwoAtLeast(int n) {
+        int power = 1;
+        while (power < n) {
+            power <<= 1;
+        }
+        return power;
+    }
+
+    // Spreads hashCode() so both the segment (top bits) and the bucket (low bits) vary.
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segmentShift == 32 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    /**
+     * Retrieves the value associated with the given key without locking.
+     *
+     * @param key The key to search for.
+     * @return The value associated with the key, or null if not found.
+     */
+    public V get(K key) {
+        if (key == null)
+            return null;
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> table = segmentFor(hash).table;
+        for (Node<K, V> node = table.get(hash & (table.length() - 1)); node != null; node = node.next) {
+            if (node.hash == hash && node.key.equals(key)) {
+                return node.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the map contains the given key, without locking.
+     *
+     * @param key The key to search for.
+     * @return true if the key exists, false otherwise.
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Checks if the map contains a String key equal to the first length
+     * characters of buffer, without locking and without creating a String.
+     *
+     * @param buffer   The characters of the key.
+     * @param length   Number of characters of buffer that form the key.
+     * @param hashCode The String.hashCode() of those characters.
+     * @return true if such a key exists, false otherwise.
+     */
+    public boolean containsChars(char[] buffer, int length, int hashCode) {
+        int hash = spread(hashCode);
+        AtomicReferenceArray<Node<K, V>> table = segmentFor(hash).table;
+        for (Node<K, V> node = table.get(hash & (table.length() - 1)); node != null; node = node.next) {
+            if (node.hash == hash && node.key instanceof String && matches((String) node.key, buffer, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String key, char[] buffer, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds or updates a key-value pair in the map.
+     *
+     * @param key   The key to be added or updated.
+     * @param value The value associated with the key.
+     * @return The previous value, or null if the key was absent.
+     */
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Adds a key-value pair unless the key is already present.
+     *
+     * @param key   The key to be added.
+     * @param value The value associated with the key.
+     * @return The existing value, or null if the pair was added.
+     */
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null)
+            throw new IllegalArgumentException("Null keys and values are not supported");
+        int hash = spread(key.hashCode());
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> table = segment.table;
+            if (segment.count + 1 > table.length() * LOAD_FACTOR_THRESHOLD) {
+                table = resize(segment);
+            }
+            int index = hash & (table.length() - 1);
+            Node<K, V> head = table.get(index);
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                if (node.hash == hash && node.key.equals(key)) {
+                    V old = node.value;
+                    if (!onlyIfAbsent) {
+                        node.value = value;
+                    }
+                    return old;
+                }
+            }
+            table.set(index, new Node<>(key, hash, value, head));
+            segment.count = segment.count + 1;
+            return null;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the key-value pair associated with the given key.
+     *
+     * @param key The key to be removed.
+     * @return The value associated with the removed key, or null if not found.
+     */
+    public V remove(K key) {
+        if (key == null)
+            return null;
+        int hash = spread(key.hashCode());
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            AtomicReferenceArray<Node<K, V>> table = segment.table;
+            int index = hash & (table.length() - 1);
+            Node<K, V> head = table.get(index);
+            Node<K, V> target = head;
+            while (target != null && !(target.hash == hash && target.key.equals(key))) {
+                target = target.next;
+            }
+            if (target == null) {
+                return null;
+            }
+            // Links are immutable: copy the nodes in front of the target onto its successor
+            Node<K, V> newHead = target.next;
+            for (Node<K, V> node = head; node != target; node = node.next) {
+                newHead = new Node<>(node.key, node.hash, node.value, newHead);
+            }
+            table.set(index, newHead);
+            segment.count = segment.count - 1;
+            return target.value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    // Doubles the segment's table. Called with the segment lock held.
+    private AtomicReferenceArray<Node<K, V>> resize(Segment<K, V> segment) {
+        AtomicReferenceArray<Node<K, V>> oldTable = segment.table;
+        int newLength = oldTable.length() * 2;
+        AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(newLength);
+        for (int i = 0; i < oldTable.length(); i++) {
+            for (Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+                int index = node.hash & (newLength - 1);
+                newTable.set(index, new Node<>(node.key, node.hash, node.value, newTable.get(index)));
+            }
+        }
+        segment.table = newTable; // Readers pick up the new table from here on
+        return newTable;
+    }
+
+    // Returns the number of key-value pairs; may be stale while writers are active.
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    // Checks if the map is empty.
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Returns the number of lock stripes.
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Retrieves all keys in the map as a GTUArrayList. The result reflects each
+     * segment at the moment it was read; concurrent updates may or may not be
+     * included.
+     *
+     * @return The keys.
+     */
+    public GTUArrayList<K> getKeys() {
+        GTUArrayList<K> keys = new GTUArrayList<>(size());
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                for (Node<K, V> node = table.get(i); node != null; node = node.next) {
+                    keys.add(node.key);
+                }
+            }
+        }
+        return keys;
+    }
+}
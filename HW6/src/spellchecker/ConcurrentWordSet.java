@@ -0,0 +1,62 @@
+// File: ConcurrentWordSet.java
+package src.spellchecker;
+
+import java.util.Iterator;
+
+/**
+ * A dictionary that many threads can query while others add or remove words.
+ * Backed by ConcurrentGTUHashMap: lookups never lock, and adding a custom word
+ * only locks one segment of the table.
+ */
+public class ConcurrentWordSet implements WordSet {
+    private final ConcurrentGTUHashMap<String, Boolean> map;
+
+    /**
+     * @param expectedSize Expected number of words.
+     * @param concurrency  Expected number of concurrent writers.
+     */
+    public ConcurrentWordSet(int expectedSize, int concurrency) {
+        this.map = new ConcurrentGTUHashMap<>(expectedSize, concurrency);
+    }
+
+    /**
+     * Adds a word to the dictionary.
+     * 
+     * @param word The word to be added.
+     * @return true if the word was added, false if it already exists.
+     */
+    public boolean add(String word) {
+        return map.putIfAbsent(word, Boolean.TRUE) == null;
+    }
+
+    /**
+     * Removes a word from the dictionary.
+     * 
+     * @param word The word to be removed.
+     * @return true if the word was removed, false if it was not present.
+     */
+    public boolean remove(String word) {
+        return map.remove(word) != null;
+    }
+
+    @Override
+    public boolean containsWord(String word) {
+        return map.containsKey(word);
+    }
+
+    @Override
+    public boolean containsChars(char[] buffer, int length, int hashCode) {
+        return map.containsChars(buffer, length, hashCode);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    // Iterates over a weakly consistent snapshot of the words.
+    @Override
+    public Iterator<String> iterator() {
+        return map.getKeys().iterator();
+    }
+}
@@ -0,0 +1,338 @@
+// File: Dawg.java
+package src.spellchecker;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Dictionary stored as a minimal acyclic word automaton (DAWG): a trie in
+ * which equal subtrees are merged, so words that end the same way ("-ing",
+ * "-tion", "-s") share their suffix states just as all words share their
+ * prefix states.
+ * The automaton is built in one pass over the sorted words with the
+ * incremental algorithm of Daciuk et al.: after each word, the states of the
+ * previous word that no later word can extend are replaced by an equal state
+ * from a register, or registered themselves. Only the current path is ever
+ * unminimized, so the build never holds the full trie.
+ *
+ * The result is flattened into three arrays, with no per-word or per-state
+ * objects: the outgoing edges of state s are firstEdge[s] to firstEdge[s + 1]
+ * in labels (sorted) and targets, and a target is the next state shifted left
+ * by one with the lowest bit set if a word ends there. State 0 is the start.
+ *
+ * Besides membership, the automaton can be searched for every word within an
+ * edit distance, computing the Levenshtein DP row by row while descending, like
+ * TrieSuggester; shared suffixes are searched once per path into them. The
+ * automaton is immutable and safe to share between threads.
+ */
+public class Dawg implements WordSet {
+
+    /**
+     * A state while building. Edges are appended in label order because the
+     * words arrive sorted.
+     */
+    private static class Node {
+        private char[] labels = new char[2];
+        private Node[] children = new Node[2];
+        private int edgeCount;
+        private boolean isFinal;
+        private int id = -1; // Set once the node is registered
+
+        private void add(char label, Node child) {
+            if (edgeCount == labels.length) {
+                labels = Arrays.copyOf(labels, edgeCount * 2);
+                children = Arrays.copyOf(children, edgeCount * 2);
+            }
+            labels[edgeCount] = label;
+            children[edgeCount++] = child;
+        }
+
+        // Two nodes are equal if both are final or not and have the same edges to the same registered children.
+        private String signature() {
+            StringBuilder signature = new StringBuilder(1 + 3 * edgeCount).append(isFinal ? '1' : '0');
+            for (int i = 0; i < edgeCount; i++) {
+                int child = children[i].id;
+                signature.append(labels[i]).append((char) (child >>> 16)).append((char) child);
+            }
+            return signature.toString();
+        }
+    }
+
+    private final int[] firstEdge; // Per state, plus one end marker
+    private final char[] labels; // Per edge
+    private final int[] targets; // Per edge: target state << 1 | 1 if a word ends there
+    private final int wordCount;
+    private final int maxWordLength;
+
+    /**
+     * Builds the minimal automaton of the words.
+     *
+     * @param words The words, in any order; duplicates and empty words are
+     *              ignored.
+     */
+    public Dawg(Iterable<String> words) {
+        GTUArrayList<String> sorted = new GTUArrayList<>();
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                sorted.add(word);
+            }
+        }
+        sorted.sort(null);
+
+        GTUHashMap<String, Node> register = new GTUHashMap<>();
+        GTUArrayList<Node> registered = new GTUArrayList<>(); // By id
+        Node[] path = new Node[16]; // path[i]: state after the first i characters of the previous word
+        path[0] = new Node();
+        String previous = "";
+        int count = 0;
+        int longest = 0;
+        for (String word : sorted) {
+            if (word.equals(previous)) {
+                continue;
+            }
+            int common = 0;
+            while (common < word.length() && common < previous.length()
+                    && word.charAt(common) == previous.charAt(common)) {
+                common++;
+            }
+            minimize(path, previous.length(), common, register, registered);
+            if (word.length() >= path.length) {
+                path = Arrays.copyOf(path, word.length() * 2);
+            }
+            for (int i = common; i < word.length(); i++) {
+                path[i + 1] = new Node();
+                path[i].add(word.charAt(i), path[i + 1]);
+            }
+            path[word.length()].isFinal = true;
+            previous = word;
+            count++;
+            longest = Math.max(longest, word.length());
+        }
+        minimize(path, previous.length(), 0, register, registered);
+        Node start = path[0];
+        start.id = registered.size();
+        registered.add(start);
+
+        // Flatten; ids grow from the leaves up, so state = last id - id puts the start state first
+        int stateCount = registered.size();
+        int edgeCount = 0;
+        for (Node node : registered) {
+            edgeCount += node.edgeCount;
+        }
+        this.firstEdge = new int[stateCount + 1];
+        this.labels = new char[edgeCount];
+        this.targets = new int[edgeCount];
+        int edge = 0;
+        for (int state = 0; state < stateCount; state++) {
+            Node node = registered.get(stateCount - 1 - state);
+            firstEdge[state] = edge;
+            for (int i = 0; i < node.edgeCount; i++) {
+                Node child = node.children[i];
+                labels[edge] = node.labels[i];
+                targets[edge++] = (stateCount - 1 - child.id) << 1 | (child.isFinal ? 1 : 0);
+            }
+        }
+        firstEdge[stateCount] = edge;
+        this.wordCount = count;
+        this.maxWordLength = longest;
+    }
+
+    /**
+     * Replaces or registers the states of the previous word below depth
+     * downTo, deepest first, so every child is registered before its parent's
+     * signature is taken.
+     */
+    private static void minimize(Node[] path, int from, int downTo, GTUHashMap<String, Node> register,
+            GTUArrayList<Node> registered) {
+        for (int i = from; i > downTo; i--) {
+            Node child = path[i];
+            Node parent = path[i - 1];
+            String signature = child.signature();
+            Node equal = register.get(signature);
+            if (equal != null) {
+                parent.children[parent.edgeCount - 1] = equal; // The child is the parent's last edge
+            } else {
+                child.id = registered.size();
+                registered.add(child);
+                register.put(signature, child);
+            }
+        }
+    }
+
+    // Returns the target of the edge labeled c leaving state, or -1 if there is none.
+    private int step(int state, char c) {
+        int low = firstEdge[state];
+        int high = firstEdge[state + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char label = labels[middle];
+            if (label < c) {
+                low = middle + 1;
+            } else if (label > c) {
+                high = middle - 1;
+            } else {
+                return targets[middle];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean containsWord(String word) {
+        int target = 0; // The start state, not final: empty words are not stored
+        for (int i = 0; i < word.length(); i++) {
+            target = step(target >>> 1, word.charAt(i));
+            if (target < 0) {
+                return false;
+            }
+        }
+        return (target & 1) != 0;
+    }
+
+    @Override
+    public boolean containsChars(char[] buffer, int length, int hashCode) {
+        int target = 0;
+        for (int i = 0; i < length; i++) {
+            target = step(target >>> 1, buffer[i]);
+            if (target < 0) {
+                return false;
+            }
+        }
+        return (target & 1) != 0;
+    }
+
+    /**
+     * Finds every word within maxDistance insertions, deletions and
+     * substitutions of the given word.
+     *
+     * @param word        The word to search around.
+     * @param maxDistance The largest edit distance.
+     * @return A GTUArrayList of words, closest first and alphabetical within a
+     *         distance; the word itself (distance 0) is not included.
+     */
+    public GTUArrayList<String> search(String word, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Illegal max distance: " + maxDistance);
+        }
+        int columns = word.length() + 1;
+        int[][] rows = new int[maxWordLength + 1][columns]; // One reusable row per depth
+        for (int j = 0; j < columns; j++) {
+            rows[0][j] = j;
+        }
+        DistanceBuckets byDistance = new DistanceBuckets(maxDistance);
+
+        if (hasEdges(0)) { // An empty automaton has no row 1
+            search(0, word, rows, new char[maxWordLength], 1, maxDistance, byDistance);
+        }
+        return byDistance.closestFirst();
+    }
+
+    private boolean hasEdges(int state) {
+        return firstEdge[state] < firstEdge[state + 1];
+    }
+
+    // Follows every edge of state whose DP row can stay within maxDistance.
+    private void search(int state, String word, int[][] rows, char[] prefix, int depth, int maxDistance,
+            DistanceBuckets byDistance) {
+        int[] previous = rows[depth - 1];
+        int[] current = rows[depth];
+        int columns = previous.length;
+        for (int edge = firstEdge[state], end = firstEdge[state + 1]; edge < end; edge++) {
+            char label = labels[edge];
+            current[0] = previous[0] + 1;
+            int rowMin = current[0];
+            for (int j = 1; j < columns; j++) {
+                int cost = word.charAt(j - 1) == label ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j] + 1, current[j - 1] + 1));
+                current[j] = value;
+                if (value < rowMin) {
+                    rowMin = value;
+                }
+            }
+            prefix[depth - 1] = label;
+            int target = targets[edge];
+            int distance = current[columns - 1];
+            if ((target & 1) != 0 && distance <= maxDistance) {
+                byDistance.add(distance, new String(prefix, 0, depth));
+            }
+            // A state without edges ends the longest words; rows has no row below it
+            if (rowMin <= maxDistance && hasEdges(target >>> 1)) {
+                search(target >>> 1, word, rows, prefix, depth + 1, maxDistance, byDistance);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    public int getStateCount() {
+        return firstEdge.length - 1;
+    }
+
+    public int getEdgeCount() {
+        return labels.length;
+    }
+
+    /**
+     * Estimates the heap footprint of the automaton: its arrays including
+     * their 16 byte headers.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long getMemoryBytes() {
+        return 16 + 4L * firstEdge.length + 16 + 2L * labels.length + 16 + 4L * targets.length;
+    }
+
+    /**
+     * Returns the words in alphabetical order, spelled out one at a time by a
+     * depth-first walk of the automaton.
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private final int[] states = new int[maxWordLength + 1]; // State at each depth
+            private final int[] edges = new int[maxWordLength + 1]; // Next edge to follow at each depth
+            private final char[] chars = new char[maxWordLength];
+            private int depth = 0;
+            private String next = advance();
+
+            private String advance() {
+                while (depth >= 0) {
+                    int edge = edges[depth];
+                    if (edge < firstEdge[states[depth] + 1]) {
+                        edges[depth]++;
+                        chars[depth] = labels[edge];
+                        int target = targets[edge];
+                        depth++;
+                        states[depth] = target >>> 1;
+                        edges[depth] = firstEdge[target >>> 1];
+                        if ((target & 1) != 0) {
+                            return new String(chars, 0, depth);
+                        }
+                    } else {
+                        depth--;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public String next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                String word = next;
+                next = advance();
+                return word;
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+// File: DistanceBuckets.java
+package src.spellchecker;
+
+/**
+ * Words found by an edit distance search, kept in one list per distance so
+ * they can be returned closest first without sorting. The trie and automaton
+ * searches find words in alphabetical order at mixed distances, so the order
+ * within a distance stays alphabetical.
+ */
+final class DistanceBuckets {
+    private final GTUArrayList<GTUArrayList<String>> buckets;
+
+    // Creates empty buckets for distances 0 to maxDistance.
+    DistanceBuckets(int maxDistance) {
+        buckets = new GTUArrayList<>(maxDistance + 1);
+        for (int d = 0; d <= maxDistance; d++) {
+            buckets.add(new GTUArrayList<>());
+        }
+    }
+
+    void add(int distance, String word) {
+        buckets.get(distance).add(word);
+    }
+
+    /**
+     * Returns the words closest first, in the order they were added within a
+     * distance. Distance 0, the query word itself, is left out.
+     *
+     * @return A new GTUArrayList of the words at distances 1 to maxDistance.
+     */
+    GTUArrayList<String> closestFirst() {
+        GTUArrayList<String> words = new GTUArrayList<>();
+        for (int d = 1; d < buckets.size(); d++) {
+            words.addAll(buckets.get(d));
+        }
+        return words;
+    }
+}
@@ -0,0 +1,181 @@
+// File: DocumentChecker.java
+package src.spellchecker;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Spell checks a whole document in a single streaming pass.
+ * The input is read in fixed-size char blocks and split into words (maximal
+ * runs of letters) directly from the block, so no line Strings are created.
+ * An apostrophe (' or \u2019) between two letters belongs to the word, so
+ * contractions such as "don't" are looked up whole; it is stored as '.
+ * Each word is lowercased into a reusable buffer (with the rules of the
+ * document's Language, if one is given) while its String.hashCode() is
+ * accumulated, and probed with WordSet.containsChars; only misspelled
+ * words become Strings.
+ *
+ * Every misspelling is written as one line:
+ * offset TAB word TAB comma separated suggestions
+ * where offset is the position of the word's first character in the input.
+ */
+public class DocumentChecker {
+    private static final int BLOCK_SIZE = 1 << 16; // 64KB, same as the dictionary reader
+
+    private final WordSet dictionary;
+    private final SuggestionEngine engine;
+    private final Language language; // null: locale-independent lowercasing
+    private QueryMetrics metrics; // null: suggestion queries are not instrumented
+
+    private long wordCount;
+    private long misspelledCount;
+    private long elapsedNanos;
+
+    /**
+     * @param dictionary The dictionary of correct words.
+     * @param engine     The engine used for suggestions, or null to report
+     *                   misspellings without suggestions.
+     */
+    public DocumentChecker(WordSet dictionary, SuggestionEngine engine) {
+        this.dictionary = dictionary;
+        this.engine = engine;
+        this.language = null;
+    }
+
+    /**
+     * @param language The language of the document; its dictionary is used
+     *                 and its rules lowercase the words.
+     * @param engine   The engine used for suggestions, or null to report
+     *                 misspellings without suggestions.
+     */
+    public DocumentChecker(Language language, SuggestionEngine engine) {
+        this.dictionary = language.getDictionary();
+        this.engine = engine;
+        this.language = language;
+    }
+
+    /**
+     * Instruments the suggestion queries of later checks: each query's work
+     * and latency are recorded into metrics.
+     *
+     * @param metrics Where the queries are recorded, or null to stop recording.
+     */
+    public void setMetrics(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Checks every word read from in and writes the misspellings to out.
+     *
+     * @param in  The document.
+     * @param out Where the misspellings are written.
+     * @throws IOException If reading or writing fails.
+     */
+    public void check(Reader in, Writer out) throws IOException {
+        long start = System.nanoTime();
+        char[] block = new char[BLOCK_SIZE];
+        char[] token = new char[64];
+        int tokenLength = 0;
+        int tokenHash = 0;
+        long tokenOffset = 0;
+        long offset = 0; // Offset of block[0] in the document
+        boolean apostrophe = false; // An apostrophe followed the token; kept if a letter comes next
+
+        wordCount = 0;
+        misspelledCount = 0;
+
+        int read;
+        while ((read = in.read(block, 0, block.length)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = block[i];
+                if (Character.isLetter(c)) {
+                    if (tokenLength == 0) {
+                        tokenOffset = offset + i;
+                        tokenHash = 0;
+                    } else if (tokenLength + 2 > token.length) {
+                        char[] grown = new char[token.length * 2];
+                        System.arraycopy(token, 0, grown, 0, tokenLength);
+                        token = grown;
+                    }
+                    if (apostrophe) {
+                        token[tokenLength++] = '\'';
+                        tokenHash = 31 * tokenHash + '\'';
+                        apostrophe = false;
+                    }
+                    c = language == null ? Character.toLowerCase(c) : language.toLowerCase(c);
+                    token[tokenLength++] = c;
+                    tokenHash = 31 * tokenHash + c;
+                } else if (tokenLength > 0 && !apostrophe && (c == '\'' || c == '\u2019')) {
+                    apostrophe = true; // Part of the word only if a letter follows, possibly in the next block
+                } else if (tokenLength > 0) {
+                    checkToken(token, tokenLength, tokenHash, tokenOffset, out);
+                    tokenLength = 0;
+                    apostrophe = false;
+                }
+            }
+            offset += read;
+        }
+        if (tokenLength > 0) {
+            checkToken(token, tokenLength, tokenHash, tokenOffset, out);
+        }
+        out.flush();
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    // Probes one word and reports it if it is not in the dictionary.
+    private void checkToken(char[] token, int length, int hash, long offset, Writer out) throws IOException {
+        wordCount++;
+        if (dictionary.containsChars(token, length, hash)) {
+            return;
+        }
+        misspelledCount++;
+        String word = new String(token, 0, length);
+        out.write(Long.toString(offset));
+        out.write('\t');
+        out.write(word);
+        out.write('\t');
+        if (engine != null) {
+            GTUArrayList<String> suggestions = metrics == null ? engine.suggest(word) : instrumentedSuggest(word);
+            for (int i = 0; i < suggestions.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(suggestions.get(i));
+            }
+        }
+        out.write('\n');
+    }
+
+    // Suggests for the word while counting its work into metrics.
+    private GTUArrayList<String> instrumentedSuggest(String word) {
+        QueryStats stats = new QueryStats();
+        long allocatedBefore = QueryMetrics.threadAllocatedBytes();
+        long start = System.nanoTime();
+        GTUArrayList<String> suggestions = engine.suggest(word, Integer.MAX_VALUE, stats);
+        long nanos = System.nanoTime() - start;
+        long allocated = allocatedBefore < 0 ? -1 : QueryMetrics.threadAllocatedBytes() - allocatedBefore;
+        metrics.record(word, stats, nanos, allocated, suggestions.size());
+        return suggestions;
+    }
+
+    // Returns the number of words checked by the last call to check.
+    public long getWordCount() {
+        return wordCount;
+    }
+
+    // Returns the number of misspelled words found by the last call to check.
+    public long getMisspelledCount() {
+        return misspelledCount;
+    }
+
+    // Returns how long the last call to check took, in nanoseconds.
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Returns the throughput of the last call to check.
+    public double getWordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : wordCount / (elapsedNanos / 1e9);
+    }
+}
@@ -6,7 +6,7 @@ package src.spellchecker;
  */
 public class EditDistanceHelper {
 
-    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz"; // Assuming lowercase English alphabet
+    private static final char[] ALPHABET = EditGenerator.DEFAULT_ALPHABET; // Lowercase English; see Language for others
 
     /**
      * Generates all unique string variations that are an edit distance of 1 from
@@ -17,6 +17,18 @@ public class EditDistanceHelper {
      * @param variationsSet The GTUHashSet to store the generated unique variations.
      */
     public static void generateEdits1(String word, GTUHashSet<String> variationsSet) {
+        generateEdits1(word, ALPHABET, variationsSet);
+    }
+
+    /**
+     * Generates all unique edit distance 1 variations of the word over the given
+     * alphabet, e.g. the one a Language derived from its dictionary.
+     * 
+     * @param word          The original word.
+     * @param alphabet      The characters used for insertions and substitutions.
+     * @param variationsSet The GTUHashSet to store the generated unique variations.
+     */
+    public static void generateEdits1(String word, char[] alphabet, GTUHashSet<String> variationsSet) {
         // Deletions
         for (int i = 0; i < word.length(); i++) {
             variationsSet.add(word.substring(0, i) + word.substring(i + 1));
@@ -25,7 +37,7 @@ public class EditDistanceHelper {
         // Substitutions
         for (int i = 0; i < word.length(); i++) {
             char[] chars = word.toCharArray();
-            for (char c : ALPHABET.toCharArray()) {
+            for (char c : alphabet) {
                 if (chars[i] != c) { // Avoid substituting a char with itself
                     char originalChar = chars[i];
                     chars[i] = c;
@@ -37,7 +49,7 @@ public class EditDistanceHelper {
 
         // Insertions
         for (int i = 0; i <= word.length(); i++) {
-            for (char c : ALPHABET.toCharArray()) {
+            for (char c : alphabet) {
                 variationsSet.add(word.substring(0, i) + c + word.substring(i));
             }
         }
@@ -45,41 +57,202 @@ public class EditDistanceHelper {
 
     /**
      * Generates suggestions for a misspelled word from a dictionary.
-     * Suggestions are words from the dictionary with an edit distance of 1 or 2.
+     * Suggestions are words from the dictionary with an edit distance of 1 or 2,
+     * distance 1 words first.
+     * Variations are generated in a reusable buffer by EditGenerator, so only
+     * dictionary hits are ever turned into Strings.
      * 
      * @param word       The misspelled word.
      * @param dictionary The dictionary of correct words.
      * @return A GTUArrayList of suggested words.
      */
     public static GTUArrayList<String> generateSuggestions(String word, GTUHashSet<String> dictionary) {
+        return generateSuggestions(word, WordSet.of(dictionary));
+    }
+
+    /**
+     * Generates suggestions for a misspelled word from any WordSet dictionary.
+     * 
+     * @param word       The misspelled word.
+     * @param dictionary The dictionary of correct words.
+     * @return A GTUArrayList of suggested words.
+     * @see #generateSuggestions(String, GTUHashSet)
+     */
+    public static GTUArrayList<String> generateSuggestions(String word, WordSet dictionary) {
+        return generateSuggestions(word, dictionary, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Generates suggestions for a misspelled word, skipping the edit distance 2
+     * expansion when at least limit words are already one edit away.
+     * 
+     * @param word       The misspelled word.
+     * @param dictionary The dictionary of correct words.
+     * @param limit      Number of distance 1 words that make distance 2 unnecessary.
+     * @return A GTUArrayList of suggested words, distance 1 words first.
+     */
+    public static GTUArrayList<String> generateSuggestions(String word, WordSet dictionary, int limit) {
+        return generateSuggestions(word, dictionary, limit, new EditGenerator());
+    }
+
+    /**
+     * Generates suggestions from a language's dictionary, inserting and
+     * substituting the characters of its derived alphabet.
+     * 
+     * @param word           The misspelled word, lowercased with language.toLowerCase.
+     * @param language       The language whose dictionary and alphabet are used.
+     * @param limit          Number of distance 1 words that make distance 2 unnecessary.
+     * @param transpositions Whether a swap of two adjacent characters is one edit.
+     * @return A GTUArrayList of suggested words, distance 1 words first.
+     */
+    public static GTUArrayList<String> generateSuggestions(String word, Language language, int limit,
+            boolean transpositions) {
+        return generateSuggestions(word, language, limit, transpositions, null);
+    }
+
+    /**
+     * Generates suggestions from a language's dictionary and counts the
+     * candidates and dictionary probes in stats.
+     * 
+     * @param word           The misspelled word, lowercased with language.toLowerCase.
+     * @param language       The language whose dictionary and alphabet are used.
+     * @param limit          Number of distance 1 words that make distance 2 unnecessary.
+     * @param transpositions Whether a swap of two adjacent characters is one edit.
+     * @param stats          The counters of this query, or null.
+     * @return A GTUArrayList of suggested words, distance 1 words first.
+     */
+    public static GTUArrayList<String> generateSuggestions(String word, Language language, int limit,
+            boolean transpositions, QueryStats stats) {
+        return generateSuggestions(word, language.getDictionary(), limit, language.newEditGenerator(transpositions),
+                stats);
+    }
+
+    /**
+     * Generates suggestions with the edits produced by the given generator, e.g.
+     * one that also counts transpositions as single edits.
+     * 
+     * @param word       The misspelled word.
+     * @param dictionary The dictionary of correct words.
+     * @param limit      Number of distance 1 words that make distance 2 unnecessary.
+     * @param generator  The generator of the variations.
+     * @return A GTUArrayList of suggested words, distance 1 words first.
+     */
+    public static GTUArrayList<String> generateSuggestions(String word, WordSet dictionary, int limit,
+            EditGenerator generator) {
+        return generateSuggestions(word, dictionary, limit, generator, null);
+    }
+
+    /**
+     * Generates suggestions with the edits produced by the given generator,
+     * counting every candidate by its distance and every dictionary probe with
+     * its length in stats. The probe lengths cost a second lookup, so they are
+     * only measured when stats is given.
+     * 
+     * @param word       The misspelled word.
+     * @param dictionary The dictionary of correct words.
+     * @param limit      Number of distance 1 words that make distance 2 unnecessary.
+     * @param generator  The generator of the variations.
+     * @param stats      The counters of this query, or null.
+     * @return A GTUArrayList of suggested words, distance 1 words first.
+     */
+    public static GTUArrayList<String> generateSuggestions(String word, WordSet dictionary, int limit,
+            EditGenerator generator, QueryStats stats) {
+        if (stats != null) {
+            stats.instrumented();
+        }
         GTUArrayList<String> suggestions = new GTUArrayList<>();
-        GTUHashSet<String> candidates = new GTUHashSet<>(); // To store all potential candidates (edit distance 1 & 2)
+        GTUHashSet<String> seen1 = new GTUHashSet<>();
 
-        // Generate edit distance 1 candidates
-        GTUHashSet<String> edits1 = new GTUHashSet<>();
-        generateEdits1(word, edits1);
+        generator.forEachEdit(word, 1, (buffer, length, hashCode, distance) -> {
+            if (stats != null) {
+                stats.candidate(1);
+                stats.probe(dictionary.probeLength(buffer, length, hashCode));
+            }
+            if (dictionary.containsChars(buffer, length, hashCode) && !seen1.containsChars(buffer, length, hashCode)) {
+                String hit = new String(buffer, 0, length);
+                seen1.add(hit);
+                suggestions.add(hit);
+            }
+            return true;
+        });
+        if (suggestions.size() >= limit) {
+            return suggestions; // Enough close words; the 2-edit expansion is the expensive part
+        }
 
-        // Check edit distance 1 candidates against dictionary
-        for (String edit1Word : edits1) { // GTUHashSet now implements Iterable
-            if (dictionary.contains(edit1Word) && !suggestions.contains(edit1Word)) {
-                suggestions.add(edit1Word);
+        // Two edits can also reach words that are one edit away; those are already listed
+        GTUHashSet<String> seen2 = new GTUHashSet<>();
+        generator.forEachEdit(word, 2, (buffer, length, hashCode, distance) -> {
+            if (stats != null && distance == 2) {
+                stats.candidate(2); // Distance 1 edits are generated again on the way; they were counted above
+                stats.probe(dictionary.probeLength(buffer, length, hashCode));
+            }
+            if (distance == 2 && dictionary.containsChars(buffer, length, hashCode)
+                    && !seen1.containsChars(buffer, length, hashCode)
+                    && !seen2.containsChars(buffer, length, hashCode)) {
+                String hit = new String(buffer, 0, length);
+                seen2.add(hit);
+                suggestions.add(hit);
             }
-            candidates.add(edit1Word); // Add to candidates for generating edits2
+            return true;
+        });
+        return suggestions;
+    }
+
+    /**
+     * Computes the Levenshtein distance (insertions, deletions and substitutions)
+     * between two words.
+     * 
+     * @param word1 The first word.
+     * @param word2 The second word.
+     * @return The edit distance between the two words.
+     */
+    public static int calculateEditDistance(String word1, String word2) {
+        return calculateEditDistance(word1, word2, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Computes the Levenshtein distance between two words, giving up as soon as
+     * every cell of the current row exceeds maxDistance.
+     * Only two rows of the DP table are kept in memory.
+     * 
+     * @param word1       The first word.
+     * @param word2       The second word.
+     * @param maxDistance The largest distance the caller is interested in.
+     * @return The edit distance, or maxDistance + 1 if it exceeds maxDistance.
+     */
+    public static int calculateEditDistance(String word1, String word2, int maxDistance) {
+        int n = word1.length();
+        int m = word2.length();
+        if (Math.abs(n - m) > maxDistance) {
+            return maxDistance + 1;
         }
 
-        // Generate edit distance 2 candidates
-        GTUHashSet<String> edits2 = new GTUHashSet<>();
-        for (String s1 : candidates) { // GTUHashSet now implements Iterable
-            generateEdits1(s1, edits2);
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
         }
 
-        // Check edit distance 2 candidates against dictionary
-        for (String edit2Word : edits2) { // GTUHashSet now implements Iterable
-            if (dictionary.contains(edit2Word) && !suggestions.contains(edit2Word)) {
-                suggestions.add(edit2Word);
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char c1 = word1.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                int cost = c1 == word2.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j] + 1, current[j - 1] + 1));
+                current[j] = value;
+                if (value < rowMin) {
+                    rowMin = value;
+                }
             }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1; // No cell can come back under the limit
+            }
+            int[] tmp = previous;
+            previous = current;
+            current = tmp;
         }
-        return suggestions;
+        return previous[m] > maxDistance ? maxDistance + 1 : previous[m];
     }
 
     /**
@@ -99,7 +272,7 @@ public class EditDistanceHelper {
         // Substitutions
         for (int i = 0; i < word.length(); i++) {
             char[] chars = word.toCharArray();
-            for (char c : ALPHABET.toCharArray()) {
+            for (char c : ALPHABET) {
                 char originalChar = chars[i];
                 chars[i] = c;
                 variationsSet.add(new String(chars));
@@ -108,7 +281,7 @@ public class EditDistanceHelper {
         }
         // Insertions
         for (int i = 0; i <= word.length(); i++) {
-            for (char c : ALPHABET.toCharArray()) {
+            for (char c : ALPHABET) {
                 variationsSet.add(word.substring(0, i) + c + word.substring(i));
             }
         }
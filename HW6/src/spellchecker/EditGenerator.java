@@ -0,0 +1,258 @@
+// File: EditGenerator.java
+package src.spellchecker;
+
+/**
+ * Generates the edit distance 1 and 2 variations of a word without creating a
+ * String for each variation.
+ * Every variation is written into a reusable char buffer and handed to a
+ * Visitor together with its String.hashCode(), which is computed in O(1) from
+ * prefix and suffix hashes of the word being edited. Callers probe the
+ * dictionary with GTUHashSet.containsChars and only create Strings for hits.
+ * Optionally, swapping two adjacent characters also counts as one edit
+ * (Damerau-Levenshtein), which catches the common "teh" typo at distance 1.
+ *
+ * An EditGenerator is not thread-safe; use one instance per thread.
+ */
+public class EditGenerator {
+
+    /**
+     * Receives the generated variations.
+     */
+    public interface Visitor {
+        /**
+         * Called once per generated variation. The buffer is reused, so its
+         * contents are only valid during the call.
+         *
+         * @param buffer   The characters of the variation.
+         * @param length   Number of characters of buffer that form the variation.
+         * @param hashCode The String.hashCode() of the variation.
+         * @param distance Number of edits applied to produce the variation.
+         * @return true to continue generating, false to stop.
+         */
+        boolean visit(char[] buffer, int length, int hashCode, int distance);
+    }
+
+    // The letters a-z; Language derives the alphabet of other dictionaries
+    static final char[] DEFAULT_ALPHABET = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private final char[] alphabet;
+    private final boolean transpositions;
+    // Per depth: the word being edited, its prefix/suffix hashes and the output buffer
+    private char[][] sources;
+    private int[][] prefixHashes;
+    private int[][] suffixHashes;
+    private char[][] outputs;
+    private int[] powers; // powers[i] = 31^i, wrapping like String.hashCode()
+    private boolean stopped;
+
+    public EditGenerator() {
+        this(DEFAULT_ALPHABET);
+    }
+
+    /**
+     * Creates a generator over the letters a-z.
+     *
+     * @param transpositions Whether a swap of two adjacent characters is an edit.
+     */
+    public EditGenerator(boolean transpositions) {
+        this(DEFAULT_ALPHABET, transpositions);
+    }
+
+    /**
+     * Creates a generator that inserts and substitutes the given characters.
+     *
+     * @param alphabet The characters used for insertions and substitutions.
+     */
+    public EditGenerator(char[] alphabet) {
+        this(alphabet, false);
+    }
+
+    /**
+     * Creates a generator that inserts and substitutes the given characters
+     * and, if requested, also swaps adjacent characters.
+     *
+     * @param alphabet       The characters used for insertions and substitutions.
+     * @param transpositions Whether a swap of two adjacent characters is an edit.
+     */
+    public EditGenerator(char[] alphabet, boolean transpositions) {
+        this.alphabet = alphabet.clone();
+        this.transpositions = transpositions;
+        this.sources = new char[0][];
+        this.prefixHashes = new int[0][];
+        this.suffixHashes = new int[0][];
+        this.outputs = new char[0][];
+        this.powers = new int[] { 1 };
+    }
+
+    /**
+     * Generates every variation of word that is at most maxDistance edits away
+     * (deletions, substitutions, insertions and, if enabled, transpositions).
+     * A variation is visited once per
+     * way of producing it, so visitors must tolerate duplicates.
+     *
+     * @param word        The original word.
+     * @param maxDistance The maximum number of edits to apply; 0 generates
+     *                    nothing, since the word itself is not a variation.
+     * @param visitor     The Visitor receiving the variations.
+     * @return true if generation ran to completion, false if the visitor stopped it.
+     */
+    public boolean forEachEdit(String word, int maxDistance, Visitor visitor) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Illegal max distance: " + maxDistance);
+        }
+        if (maxDistance == 0) {
+            return true;
+        }
+        ensureCapacity(maxDistance, word.length() + maxDistance);
+        char[] source = sources[0];
+        word.getChars(0, word.length(), source, 0);
+        stopped = false;
+        expand(0, word.length(), maxDistance, visitor);
+        return !stopped;
+    }
+
+    /**
+     * Generates every variation of the first length characters of word that is
+     * exactly one edit away.
+     *
+     * @param word    The characters of the original word.
+     * @param length  Number of characters of word to use.
+     * @param visitor The Visitor receiving the variations.
+     * @return true if generation ran to completion, false if the visitor stopped it.
+     */
+    public boolean forEachEdit1(char[] word, int length, Visitor visitor) {
+        ensureCapacity(1, length + 1);
+        System.arraycopy(word, 0, sources[0], 0, length);
+        stopped = false;
+        expand(0, length, 1, visitor);
+        return !stopped;
+    }
+
+    // Visits the edits of sources[depth] and, while depth allows, their edits.
+    private void expand(int depth, int length, int maxDistance, Visitor visitor) {
+        char[] source = sources[depth];
+        int[] prefix = prefixHashes[depth];
+        int[] suffix = suffixHashes[depth];
+        char[] out = outputs[depth];
+
+        prefix[0] = 0;
+        for (int i = 0; i < length; i++) {
+            prefix[i + 1] = prefix[i] * 31 + source[i];
+        }
+        suffix[length] = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            suffix[i] = source[i] * powers[length - 1 - i] + suffix[i + 1];
+        }
+        int wordHash = prefix[length];
+
+        // Deletions: out holds source without position i
+        if (length > 0) {
+            System.arraycopy(source, 1, out, 0, length - 1);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    out[i - 1] = source[i - 1];
+                    if (source[i] == source[i - 1]) {
+                        continue; // Same result as deleting the previous character
+                    }
+                }
+                int hash = prefix[i] * powers[length - 1 - i] + suffix[i + 1];
+                if (!emit(out, length - 1, hash, depth, maxDistance, visitor)) {
+                    return;
+                }
+            }
+        }
+
+        // Substitutions: out holds source with position i replaced
+        System.arraycopy(source, 0, out, 0, length);
+        for (int i = 0; i < length; i++) {
+            char original = source[i];
+            int weight = powers[length - 1 - i];
+            for (char c : alphabet) {
+                if (c == original) {
+                    continue;
+                }
+                out[i] = c;
+                int hash = wordHash + (c - original) * weight;
+                if (!emit(out, length, hash, depth, maxDistance, visitor)) {
+                    return;
+                }
+            }
+            out[i] = original; // backtrack
+        }
+
+        // Transpositions: out holds source with positions i and i + 1 swapped
+        if (transpositions) {
+            for (int i = 0; i + 1 < length; i++) {
+                char first = source[i];
+                char second = source[i + 1];
+                if (first == second) {
+                    continue; // Swapping equal characters changes nothing
+                }
+                out[i] = second;
+                out[i + 1] = first;
+                int hash = wordHash + (second - first) * powers[length - 1 - i] + (first - second) * powers[length - 2 - i];
+                boolean more = emit(out, length, hash, depth, maxDistance, visitor);
+                out[i] = first; // backtrack
+                out[i + 1] = second;
+                if (!more) {
+                    return;
+                }
+            }
+        }
+
+        // Insertions: out holds source with a character inserted before position i
+        System.arraycopy(source, 0, out, 1, length);
+        for (int i = 0; i <= length; i++) {
+            if (i > 0) {
+                out[i - 1] = source[i - 1];
+            }
+            int weight = powers[length - i];
+            for (char c : alphabet) {
+                if (i > 0 && c == source[i - 1]) {
+                    continue; // Same result as inserting c before the previous character
+                }
+                out[i] = c;
+                int hash = (prefix[i] * 31 + c) * weight + suffix[i];
+                if (!emit(out, length + 1, hash, depth, maxDistance, visitor)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Hands one variation to the visitor and expands it further if allowed.
+    private boolean emit(char[] out, int length, int hash, int depth, int maxDistance, Visitor visitor) {
+        if (!visitor.visit(out, length, hash, depth + 1)) {
+            stopped = true;
+            return false;
+        }
+        if (depth + 1 < maxDistance) {
+            System.arraycopy(out, 0, sources[depth + 1], 0, length);
+            expand(depth + 1, length, maxDistance, visitor);
+            if (stopped) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Grows the per-depth buffers to hold words of up to maxLength characters.
+    private void ensureCapacity(int maxDistance, int maxLength) {
+        int depths = maxDistance; // At least 1: forEachEdit returns before this for 0
+        if (sources.length < depths || sources[0].length < maxLength + 1) {
+            int length = Math.max(maxLength + 1, sources.length == 0 ? 32 : sources[0].length * 2);
+            sources = new char[depths][length];
+            prefixHashes = new int[depths][length + 1];
+            suffixHashes = new int[depths][length + 1];
+            outputs = new char[depths][length];
+        }
+        if (powers.length < maxLength + 1) {
+            int[] grown = new int[Math.max(maxLength + 1, powers.length * 2)];
+            grown[0] = 1;
+            for (int i = 1; i < grown.length; i++) {
+                grown[i] = grown[i - 1] * 31;
+            }
+            powers = grown;
+        }
+    }
+}
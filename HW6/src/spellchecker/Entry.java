@@ -10,11 +10,13 @@ public class Entry<K, V> {
     public K key;
     public V value;
     public boolean isDeleted; // Indicates if the entry is a tombstone (deleted)
+    public final int hash; // Cached key.hashCode(), compared before equals while probing
 
     public Entry(K key, V value) {
         this.key = key;
         this.value = value;
         this.isDeleted = false;
+        this.hash = key == null ? 0 : key.hashCode();
     }
 
     // Special constructor for the TOMBSTONE static instance
@@ -22,6 +24,7 @@ public class Entry<K, V> {
         this.key = null;
         this.value = null;
         this.isDeleted = isTombstone; // True for tombstone
+        this.hash = 0;
     }
 
     // A static final instance to represent a deleted entry (tombstone)
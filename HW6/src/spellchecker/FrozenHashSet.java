@@ -0,0 +1,156 @@
+// File: FrozenHashSet.java
+package src.spellchecker;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable hash set built once from a GTUHashSet (see GTUHashSet.freeze) and
+ * laid out for read-only lookups.
+ * The elements are grouped by bucket in one array, next to a parallel array
+ * of their hash codes, and bucketStart[b] is the position of bucket b's first
+ * element (a compressed layout, as in CSR sparse matrices). There are no empty
+ * slots, tombstones or Entry objects: a lookup reads two bucket bounds and
+ * scans a run that averages one element, comparing int hashes before calling
+ * equals.
+ *
+ * @param <E> The type of elements maintained by this set.
+ */
+public final class FrozenHashSet<E> implements Iterable<E> {
+    private final Object[] elements;
+    private final int[] hashes;
+    private final int[] bucketStart; // Length buckets + 1; bucket b is [bucketStart[b], bucketStart[b + 1])
+    private final int shift; // 32 - log2(buckets)
+
+    /**
+     * @param distinct The elements, without duplicates or nulls.
+     */
+    FrozenHashSet(GTUArrayList<E> distinct) {
+        int size = distinct.size();
+        int buckets = 2;
+        while (buckets < size) {
+            buckets <<= 1; // At most one element per bucket on average
+        }
+        this.shift = 32 - Integer.numberOfTrailingZeros(buckets);
+        this.elements = new Object[size];
+        this.hashes = new int[size];
+        this.bucketStart = new int[buckets + 1];
+
+        // Counting sort by bucket: count, prefix sum, then place
+        int[] bucketOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            bucketOf[i] = bucketFor(distinct.get(i).hashCode());
+            bucketStart[bucketOf[i] + 1]++;
+        }
+        for (int b = 0; b < buckets; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] next = new int[buckets];
+        System.arraycopy(bucketStart, 0, next, 0, buckets);
+        for (int i = 0; i < size; i++) {
+            int position = next[bucketOf[i]]++;
+            E element = distinct.get(i);
+            elements[position] = element;
+            hashes[position] = element.hashCode();
+        }
+    }
+
+    // Top bits of the hash times the golden ratio.
+    private int bucketFor(int hashCode) {
+        return (hashCode * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Checks if the set contains the given element.
+     * 
+     * @param element The element to search for.
+     * @return true if the element exists, false otherwise.
+     */
+    public boolean contains(E element) {
+        if (element == null) {
+            return false;
+        }
+        int hash = element.hashCode();
+        int bucket = bucketFor(hash);
+        for (int i = bucketStart[bucket], end = bucketStart[bucket + 1]; i < end; i++) {
+            if (hashes[i] == hash && elements[i].equals(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the set contains a String equal to the first length
+     * characters of buffer, without creating a String for the lookup.
+     * 
+     * @param buffer   The characters of the element.
+     * @param length   Number of characters of buffer that form the element.
+     * @param hashCode The String.hashCode() of those characters.
+     * @return true if such an element exists, false otherwise.
+     */
+    boolean containsChars(char[] buffer, int length, int hashCode) {
+        int bucket = bucketFor(hashCode);
+        for (int i = bucketStart[bucket], end = bucketStart[bucket + 1]; i < end; i++) {
+            if (hashes[i] == hashCode && elements[i] instanceof String && matches((String) elements[i], buffer, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Counts the bucket entries containsChars compares, at least 1 for the bucket itself.
+    int probeLength(char[] buffer, int length, int hashCode) {
+        int bucket = bucketFor(hashCode);
+        int start = bucketStart[bucket];
+        for (int i = start, end = bucketStart[bucket + 1]; i < end; i++) {
+            if (hashes[i] == hashCode && elements[i] instanceof String && matches((String) elements[i], buffer, length)) {
+                return i - start + 1;
+            }
+        }
+        return Math.max(1, bucketStart[bucket + 1] - start);
+    }
+
+    private static boolean matches(String key, char[] buffer, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return elements.length;
+    }
+
+    // Checks if the set is empty.
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    // Returns an iterator over the elements, in bucket order.
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (E) elements[index++];
+            }
+        };
+    }
+}
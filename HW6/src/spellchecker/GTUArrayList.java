@@ -1,9 +1,13 @@
 package src.spellchecker;
 
 import java.util.Arrays;
+import java.util.Comparator;
 
 /**
  * A custom dynamic array list implementation, as java.util.List is forbidden.
+ * Bulk operations copy whole ranges with System.arraycopy after growing the
+ * backing array at most once. For int and char values use IntArrayList and
+ * CharArrayList, which avoid boxing.
  * 
  * @param <E> The type of elements in this list.
  */
@@ -31,10 +35,35 @@ public class GTUArrayList<E> implements Iterable<E> {
      * @param element The element to be added.
      */
     public void add(E element) {
-        ensureCapacity();
+        if (size == elements.length) {
+            grow(size + 1);
+        }
         elements[size++] = element;
     }
 
+    /**
+     * Appends every element of another list, growing the array at most once.
+     * 
+     * @param other The list whose elements are appended; may be this list.
+     */
+    public void addAll(GTUArrayList<? extends E> other) {
+        int count = other.size; // Read first: other may be this list
+        ensureCapacity(size + count);
+        System.arraycopy(other.elements, 0, elements, size, count);
+        size += count;
+    }
+
+    /**
+     * Appends every element of an array, growing the list at most once.
+     * 
+     * @param array The elements to append.
+     */
+    public void addAll(E[] array) {
+        ensureCapacity(size + array.length);
+        System.arraycopy(array, 0, elements, size, array.length);
+        size += array.length;
+    }
+
     /**
      * Retrieves the element at the specified index.
      * 
@@ -50,6 +79,34 @@ public class GTUArrayList<E> implements Iterable<E> {
         return (E) elements[index];
     }
 
+    /**
+     * Removes the element at the specified index and shifts the following
+     * elements to the left.
+     * 
+     * @param index The index of the element to remove.
+     * @return The removed element.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public E remove(int index) {
+        E removed = get(index);
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        elements[--size] = null; // Let the removed element be collected
+        return removed;
+    }
+
+    /**
+     * Sorts the list in place. The sort is stable.
+     * 
+     * @param comparator Orders the elements, or null for their natural ordering.
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> comparator) {
+        Arrays.sort((E[]) elements, 0, size, comparator);
+    }
+
     /**
      * Returns the number of elements in the list.
      * 
@@ -69,12 +126,30 @@ public class GTUArrayList<E> implements Iterable<E> {
     }
 
     /**
-     * Ensures the internal array has enough capacity to add new elements.
+     * Grows the internal array, if needed, so that minCapacity elements fit
+     * without further copying.
+     * 
+     * @param minCapacity The number of elements the list should hold.
      */
-    private void ensureCapacity() {
-        if (size == elements.length) {
-            int newCapacity = elements.length == 0 ? DEFAULT_CAPACITY : elements.length * 2;
-            elements = Arrays.copyOf(elements, newCapacity);
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    // Doubles the capacity, or more if minCapacity needs it.
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(elements.length == 0 ? DEFAULT_CAPACITY : elements.length * 2, minCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    /**
+     * Shrinks the internal array to the number of elements, e.g. once a list
+     * that is kept for a long time is complete.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = Arrays.copyOf(elements, size);
         }
     }
 
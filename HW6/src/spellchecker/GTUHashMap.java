@@ -1,9 +1,22 @@
 // File: GTUHashMap.java
 package src.spellchecker;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
 /**
  * Custom HashMap implementation using open addressing with linear probing.
  * Handles collisions, deletion via tombstones, and rehashing.
+ * Optionally uses Robin Hood insertion with backward-shift deletion instead
+ * (see ProbingStrategy), which bounds probe lengths and never leaves tombstones.
+ * With incremental resizing, a rehash only allocates the new table; every
+ * later put or remove then migrates a bounded number of old slots, and lookups
+ * consult both tables until the old one is drained. This spreads the cost of
+ * a resize over many operations instead of stalling the one that triggers it.
  * 
  * @param <K> The type of keys maintained by this map.
  * @param <V> The type of mapped values.
@@ -15,30 +28,78 @@ public class GTUHashMap<K, V> {
     private static final int INITIAL_CAPACITY = 16; // Must be a power of 2 for bitwise AND trick, or use prime for
                                                     // modulo
     private static final double LOAD_FACTOR_THRESHOLD = 0.75;
+    // Load targeted when presizing for a known count; linear probing clusters grow fast beyond it
+    private static final double PRESIZE_LOAD_FACTOR = 0.5;
     private int tombstones; // Number of tombstones
+    private int modCount; // Structural changes, checked by iterators
+    private static final double COMPACTION_THRESHOLD = 0.25; // Tombstone share of the slots that triggers compact()
+    private static final double SHRINK_THRESHOLD = 0.125; // Load below which a remove shrinks the table
+    private static final int REFERENCE_BYTES = 4; // Size of one slot, assuming compressed references
+    private int minimumCapacity; // Presized through the constructor or ensureCapacity; shrinking stops here
+    private int compactions;
+    private int shrinks;
+    private long reclaimedBytes;
+    private final ProbingStrategy strategy;
+    private static final int MIGRATION_STEP = 64; // Old slots moved per put/remove while resizing
+    private final boolean incrementalResize;
+    private Entry<K, V>[] oldTable; // Table being drained by an incremental resize, or null
+    private int oldCapacity;
+    private int migrateIndex; // Old slots before this index have been migrated
 
-    @SuppressWarnings("unchecked")
     public GTUHashMap() {
-        this.capacity = findNextPrime(INITIAL_CAPACITY);
-        this.table = (Entry<K, V>[]) new Entry[this.capacity];
-        this.size = 0;
-        this.tombstones = 0;
+        this(INITIAL_CAPACITY, ProbingStrategy.LINEAR);
     }
 
-    @SuppressWarnings("unchecked")
     public GTUHashMap(int initialCapacity) {
+        this(initialCapacity, ProbingStrategy.LINEAR);
+    }
+
+    public GTUHashMap(int initialCapacity, ProbingStrategy strategy) {
+        this(initialCapacity, strategy, false);
+    }
+
+    /**
+     * Creates a map with the given initial capacity, collision strategy and
+     * resize mode.
+     * 
+     * @param initialCapacity   The initial number of slots (rounded up to a prime).
+     * @param strategy          How collisions are resolved.
+     * @param incrementalResize Whether to migrate entries to a grown table a few
+     *                          slots at a time instead of all at once. Only
+     *                          supported with linear probing.
+     */
+    @SuppressWarnings("unchecked")
+    public GTUHashMap(int initialCapacity, ProbingStrategy strategy, boolean incrementalResize) {
         if (initialCapacity < 0)
             throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        if (strategy == null)
+            throw new IllegalArgumentException("Probing strategy must not be null");
+        if (incrementalResize && strategy == ProbingStrategy.ROBIN_HOOD)
+            throw new IllegalArgumentException("Incremental resizing requires linear probing");
+        this.incrementalResize = incrementalResize;
         this.capacity = findNextPrime(initialCapacity);
+        this.minimumCapacity = this.capacity;
         this.table = (Entry<K, V>[]) new Entry[this.capacity];
         this.size = 0;
         this.tombstones = 0;
+        this.strategy = strategy;
     }
 
     private int hash(K key) {
         if (key == null)
             return 0; // Or throw IllegalArgumentException
-        return Math.abs(key.hashCode()) % capacity;
+        return indexFor(key.hashCode());
+    }
+
+    // Maps a hash code to its home slot in the table.
+    private int indexFor(int hashCode) {
+        return Math.abs(hashCode % capacity);
+    }
+
+    // Number of slots between an entry's home slot and the slot it occupies.
+    private int displacement(int index, Entry<K, V> entry) {
+        int distance = index - indexFor(entry.hash);
+        return distance < 0 ? distance + capacity : distance;
     }
 
     // Helper for finding an index for a key.
@@ -46,7 +107,11 @@ public class GTUHashMap<K, V> {
     // For linear probing, the step is i. For quadratic probing, the step would be
     // i*i.
     private int findIndex(K key, boolean forInsert) {
+        if (strategy == ProbingStrategy.ROBIN_HOOD) {
+            return robinHoodFind(key); // Insertion has its own path, see robinHoodInsert
+        }
         int index = hash(key);
+        int keyHash = key.hashCode();
         int i = 0; // Probe attempt counter
         int firstTombstoneIndex = -1;
 
@@ -62,7 +127,7 @@ public class GTUHashMap<K, V> {
                 if (forInsert && firstTombstoneIndex == -1) {
                     firstTombstoneIndex = probeIndex; // Remember first tombstone for insertion
                 }
-            } else if (table[probeIndex].key.equals(key)) {
+            } else if (table[probeIndex].hash == keyHash && table[probeIndex].key.equals(key)) {
                 return probeIndex; // Key found
             }
 
@@ -77,6 +142,75 @@ public class GTUHashMap<K, V> {
         }
     }
 
+    // Linear probe of the table being drained; returns the index of key or -1.
+    private int findInOldTable(K key) {
+        int keyHash = key.hashCode();
+        int index = Math.abs(keyHash % oldCapacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            Entry<K, V> entry = oldTable[index];
+            if (entry == null) {
+                return -1;
+            }
+            if (entry != Entry.TOMBSTONE && entry.hash == keyHash && entry.key.equals(key)) {
+                return index;
+            }
+            index = (index + 1) % oldCapacity;
+        }
+        return -1;
+    }
+
+    // Robin Hood lookup: returns the index of key, or -1 once the probe meets an
+    // empty slot or an entry closer to its home than key would be at that point.
+    private int robinHoodFind(K key) {
+        int keyHash = key.hashCode();
+        int index = indexFor(keyHash);
+        for (int distance = 0; distance < capacity; distance++) {
+            Entry<K, V> entry = table[index];
+            if (entry == null || displacement(index, entry) < distance) {
+                return -1;
+            }
+            if (entry.hash == keyHash && entry.key.equals(key)) {
+                return index;
+            }
+            index = (index + 1) % capacity;
+        }
+        return -1;
+    }
+
+    // Robin Hood insertion of a key known to be absent: the entry being placed
+    // swaps with any resident that is closer to its home slot.
+    private void robinHoodInsert(Entry<K, V> entry) {
+        int index = indexFor(entry.hash);
+        int distance = 0;
+        while (true) {
+            Entry<K, V> resident = table[index];
+            if (resident == null) {
+                table[index] = entry;
+                return;
+            }
+            int residentDistance = displacement(index, resident);
+            if (residentDistance < distance) {
+                table[index] = entry;
+                entry = resident;
+                distance = residentDistance;
+            }
+            index = (index + 1) % capacity;
+            distance++;
+        }
+    }
+
+    // Removes the entry at index and shifts the following displaced entries
+    // back by one slot, so lookups never need tombstones.
+    private void backwardShiftDelete(int index) {
+        int next = (index + 1) % capacity;
+        while (table[next] != null && displacement(next, table[next]) > 0) {
+            table[index] = table[next];
+            index = next;
+            next = (next + 1) % capacity;
+        }
+        table[index] = null;
+    }
+
     /**
      * Adds or updates a key-value pair in the map.
      * 
@@ -95,6 +229,119 @@ public class GTUHashMap<K, V> {
         if ((double) (size + tombstones) / capacity >= LOAD_FACTOR_THRESHOLD) {
             rehash();
         }
+        store(key, value, false);
+    }
+
+    /**
+     * Adds a key-value pair unless the key is already present. The key is
+     * located with a single probe sequence, which either finds it or ends at
+     * the slot where it is inserted.
+     * 
+     * @param key   The key to be added.
+     * @param value The value associated with the key.
+     * @return The existing value, or null if the pair was added.
+     */
+    public V putIfAbsent(K key, V value) {
+        if (key == null) {
+            System.err.println("Null keys are not supported in this GTUHashMap implementation.");
+            return null;
+        }
+        if ((double) (size + tombstones) / capacity >= LOAD_FACTOR_THRESHOLD) {
+            rehash();
+        }
+        return store(key, value, true);
+    }
+
+    /**
+     * Adds or updates all pairs keys[i], values[i]. The table is grown once
+     * for the total count up front, so no rehash happens while inserting.
+     * 
+     * @param keys   The keys to be added or updated.
+     * @param values The values, in the same order as the keys.
+     */
+    public void putAll(K[] keys, V[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException("Got " + keys.length + " keys but " + values.length + " values");
+        reserve(size + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                store(keys[i], values[i], false);
+            }
+        }
+    }
+
+    /**
+     * Adds every key that is not present yet with the same value, presizing the
+     * table once for all of them. Used for bulk loading sets.
+     * 
+     * @param keys  The keys to be added; null keys are skipped.
+     * @param value The value associated with each added key.
+     * @return The number of keys added.
+     */
+    int putAllAbsent(K[] keys, V value) {
+        reserve(size + keys.length);
+        int added = 0;
+        for (K key : keys) {
+            if (key != null && store(key, value, true) == null) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Grows the table so that expectedSize entries fit without any further
+     * rehash, leaving the table at most half full. Does nothing if they
+     * already fit. Like the initial capacity, the size requested here is kept:
+     * removing entries or clear() never shrinks the table below it, only
+     * trimToSize does.
+     * 
+     * @param expectedSize The number of entries the map should hold.
+     */
+    public void ensureCapacity(int expectedSize) {
+        reserve(expectedSize);
+        minimumCapacity = Math.max(minimumCapacity, findNextPrime((int) (expectedSize / PRESIZE_LOAD_FACTOR) + 1));
+    }
+
+    // Grows the table for expectedSize entries, as ensureCapacity, without raising the minimum capacity.
+    private void reserve(int expectedSize) {
+        if (expectedSize + tombstones >= capacity * LOAD_FACTOR_THRESHOLD) {
+            rehash(Math.max(capacity, findNextPrime((int) (expectedSize / PRESIZE_LOAD_FACTOR) + 1)));
+        }
+    }
+
+    // Inserts or updates key with a single probe sequence; the caller has
+    // already made room. Returns the previous value, or null if key was absent.
+    private V store(K key, V value, boolean onlyIfAbsent) {
+        if (oldTable != null) {
+            migrateStep();
+            if (oldTable != null) {
+                int oldIndex = findInOldTable(key);
+                if (oldIndex != -1) {
+                    Entry<K, V> entry = oldTable[oldIndex];
+                    V oldValue = entry.value;
+                    if (!onlyIfAbsent) {
+                        entry.value = value; // Moved to the new table by a later step
+                    }
+                    return oldValue;
+                }
+            }
+        }
+
+        if (strategy == ProbingStrategy.ROBIN_HOOD) {
+            int index = robinHoodFind(key);
+            if (index != -1) {
+                V oldValue = table[index].value;
+                if (!onlyIfAbsent) {
+                    table[index].value = value;
+                }
+                return oldValue;
+            }
+            robinHoodInsert(new Entry<>(key, value));
+            size++;
+            modCount++;
+            return null;
+        }
 
         int index = findIndex(key, true);
 
@@ -104,9 +351,14 @@ public class GTUHashMap<K, V> {
             }
             table[index] = new Entry<>(key, value);
             size++;
-        } else { // Key already exists, update value
+            modCount++;
+            return null;
+        }
+        V oldValue = table[index].value; // Key already exists
+        if (!onlyIfAbsent) {
             table[index].value = value;
         }
+        return oldValue;
     }
 
     /**
@@ -122,6 +374,10 @@ public class GTUHashMap<K, V> {
         if (index != -1 && table[index] != null && table[index] != Entry.TOMBSTONE && table[index].key.equals(key)) {
             return table[index].value;
         }
+        if (oldTable != null) {
+            int oldIndex = findInOldTable(key);
+            return oldIndex == -1 ? null : oldTable[oldIndex].value;
+        }
         return null;
     }
 
@@ -135,7 +391,93 @@ public class GTUHashMap<K, V> {
         if (key == null)
             return false;
         int index = findIndex(key, false);
-        return index != -1 && table[index] != null && table[index] != Entry.TOMBSTONE && table[index].key.equals(key);
+        if (index != -1 && table[index] != null && table[index] != Entry.TOMBSTONE && table[index].key.equals(key)) {
+            return true;
+        }
+        return oldTable != null && findInOldTable(key) != -1;
+    }
+
+    /**
+     * Checks if the map contains a String key equal to the first length
+     * characters of buffer, without creating a String for the lookup.
+     * 
+     * @param buffer   The characters of the key.
+     * @param length   Number of characters of buffer that form the key.
+     * @param hashCode The String.hashCode() of those characters.
+     * @return true if such a key exists, false otherwise.
+     */
+    boolean containsChars(char[] buffer, int length, int hashCode) {
+        if (containsChars(table, capacity, buffer, length, hashCode)) {
+            return true;
+        }
+        Entry<K, V>[] draining = oldTable;
+        return draining != null && containsChars(draining, draining.length, buffer, length, hashCode);
+    }
+
+    private boolean containsChars(Entry<K, V>[] slots, int slotCount, char[] buffer, int length, int hashCode) {
+        int index = Math.abs(hashCode % slotCount);
+        boolean robinHood = strategy == ProbingStrategy.ROBIN_HOOD;
+        for (int i = 0; i < slotCount; i++) {
+            int probeIndex = (index + i) % slotCount;
+            Entry<K, V> entry = slots[probeIndex];
+            if (entry == null || (robinHood && displacement(probeIndex, entry) < i)) {
+                return false;
+            }
+            // The cached hash rejects most mismatches without touching the key
+            if (entry != Entry.TOMBSTONE && entry.hash == hashCode && entry.key instanceof String
+                    && matches((String) entry.key, buffer, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the slots containsChars inspects for the key, including those of
+     * the table still being drained.
+     * 
+     * @param buffer   The characters of the key.
+     * @param length   Number of characters of buffer that form the key.
+     * @param hashCode The String.hashCode() of those characters.
+     * @return The number of inspected slots.
+     */
+    int probeLengthChars(char[] buffer, int length, int hashCode) {
+        int slots = probeLengthChars(table, capacity, buffer, length, hashCode);
+        Entry<K, V>[] draining = oldTable;
+        if (slots > 0 || draining == null) {
+            return Math.abs(slots);
+        }
+        return -slots + Math.abs(probeLengthChars(draining, draining.length, buffer, length, hashCode));
+    }
+
+    // Same walk as containsChars; positive if the key was found, negative (or 0) if not.
+    private int probeLengthChars(Entry<K, V>[] slots, int slotCount, char[] buffer, int length, int hashCode) {
+        int index = Math.abs(hashCode % slotCount);
+        boolean robinHood = strategy == ProbingStrategy.ROBIN_HOOD;
+        for (int i = 0; i < slotCount; i++) {
+            int probeIndex = (index + i) % slotCount;
+            Entry<K, V> entry = slots[probeIndex];
+            if (entry == null || (robinHood && displacement(probeIndex, entry) < i)) {
+                return -(i + 1);
+            }
+            if (entry != Entry.TOMBSTONE && entry.hash == hashCode && entry.key instanceof String
+                    && matches((String) entry.key, buffer, length)) {
+                return i + 1;
+            }
+        }
+        return -slotCount;
+    }
+
+    private static boolean matches(String key, char[] buffer, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -148,14 +490,36 @@ public class GTUHashMap<K, V> {
     public V remove(K key) {
         if (key == null)
             return null;
+        if (oldTable != null) {
+            migrateStep();
+            if (oldTable != null) {
+                int oldIndex = findInOldTable(key);
+                if (oldIndex != -1) {
+                    V oldValue = oldTable[oldIndex].value;
+                    oldTable[oldIndex] = (Entry<K, V>) Entry.TOMBSTONE; // The old table is dropped once drained
+                    size--;
+                    modCount++;
+                    return oldValue;
+                }
+            }
+        }
         int index = findIndex(key, false);
         if (index != -1 && table[index] != null && table[index] != Entry.TOMBSTONE && table[index].key.equals(key)) {
             V oldValue = table[index].value;
+            if (strategy == ProbingStrategy.ROBIN_HOOD) {
+                backwardShiftDelete(index);
+                size--;
+                modCount++;
+                shrinkIfSparse();
+                return oldValue;
+            }
             table[index] = (Entry<K, V>) Entry.TOMBSTONE;
             size--;
+            modCount++;
             tombstones++;
-            // Optional: Consider rehashing if tombstones get too high relative to size
-            // e.g., if (tombstones > size) rehash();
+            if (!shrinkIfSparse() && tombstones >= capacity * COMPACTION_THRESHOLD) {
+                compact();
+            }
             return oldValue;
         }
         return null;
@@ -165,19 +529,223 @@ public class GTUHashMap<K, V> {
         return size;
     }
 
+    // Returns the number of slots in the table.
+    public int capacity() {
+        return capacity;
+    }
+
+    // Returns the number of tombstones in the table.
+    public int getTombstoneCount() {
+        return tombstones;
+    }
+
+    // Returns how many times tombstones were compacted away.
+    public int getCompactionCount() {
+        return compactions;
+    }
+
+    // Returns how many times the table was shrunk.
+    public int getShrinkCount() {
+        return shrinks;
+    }
+
     /**
-     * Rehashes the map to a larger capacity (next prime number).
+     * Returns the table memory released by shrinking so far, estimated from
+     * the slot size (Entry objects of removed keys are freed by remove itself).
+     * 
+     * @return The reclaimed bytes.
+     */
+    public long getReclaimedBytes() {
+        return reclaimedBytes;
+    }
+
+    /**
+     * Removes all key-value pairs. A table that grew beyond the capacity the
+     * map was presized to (through the constructor or ensureCapacity) is
+     * replaced by one of that capacity, so a large temporary map does not keep
+     * its whole table once it is emptied.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void clear() {
+        if (capacity > minimumCapacity) {
+            reclaimedBytes += (long) (capacity - minimumCapacity) * REFERENCE_BYTES;
+            shrinks++;
+            capacity = minimumCapacity;
+            table = (Entry<K, V>[]) new Entry[capacity];
+        } else {
+            Arrays.fill(table, null);
+        }
+        oldTable = null;
+        size = 0;
+        tombstones = 0;
+        modCount++;
+    }
+
+    /**
+     * Shrinks the table to the smallest capacity that keeps it at most half
+     * full, dropping all tombstones. This also goes below a presized capacity,
+     * which becomes the new minimum.
+     */
+    public void trimToSize() {
+        int fitted = findNextPrime(Math.max(INITIAL_CAPACITY, (int) (size / PRESIZE_LOAD_FACTOR) + 1));
+        if (fitted < capacity) {
+            shrinkTo(fitted);
+        } else if (tombstones > 0 && oldTable == null) {
+            compact();
+        }
+        minimumCapacity = Math.min(minimumCapacity, capacity);
+    }
+
+    // Shrinks the table if the load dropped below SHRINK_THRESHOLD, but not below the presized
+    // capacity; returns true if it did.
+    private boolean shrinkIfSparse() {
+        if (capacity <= INITIAL_CAPACITY || capacity <= minimumCapacity || size >= capacity * SHRINK_THRESHOLD) {
+            return false;
+        }
+        int fitted = findNextPrime(Math.max(Math.max(INITIAL_CAPACITY, minimumCapacity),
+                (int) (size / PRESIZE_LOAD_FACTOR) + 1));
+        if (fitted >= capacity) {
+            return false;
+        }
+        shrinkTo(fitted);
+        return true;
+    }
+
+    private void shrinkTo(int newCapacity) {
+        finishResize();
+        int oldCapacity = capacity;
+        rehash(newCapacity);
+        finishResize(); // The larger table is only released once it is drained
+        shrinks++;
+        reclaimedBytes += (long) (oldCapacity - newCapacity) * REFERENCE_BYTES;
+    }
+
+    /**
+     * Removes all tombstones in place, without allocating a new table.
+     * Tombstones become empty slots, then the live entries are revisited in
+     * probe order starting just after an originally empty slot (no probe
+     * sequence crosses it), and each entry moves back to the first empty slot
+     * on its probe path. Entries before the current one are already settled,
+     * so every key stays reachable from its home slot.
      */
     @SuppressWarnings("unchecked")
+    private void compact() {
+        int start = -1;
+        for (int i = 0; i < capacity; i++) {
+            if (table[i] == null) {
+                start = i;
+                break;
+            }
+        }
+        if (start == -1) {
+            rehash(capacity); // No empty slot to anchor the sweep; cannot happen below the load factor
+            return;
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (table[i] == Entry.TOMBSTONE) {
+                table[i] = null;
+            }
+        }
+        for (int step = 1; step < capacity; step++) {
+            int position = (start + step) % capacity;
+            Entry<K, V> entry = table[position];
+            if (entry == null) {
+                continue;
+            }
+            int target = indexFor(entry.hash);
+            while (target != position && table[target] != null) {
+                target = (target + 1) % capacity;
+            }
+            if (target != position) {
+                table[target] = entry;
+                table[position] = null;
+            }
+        }
+        tombstones = 0;
+        compactions++;
+        modCount++;
+    }
+
+    public ProbingStrategy getProbingStrategy() {
+        return strategy;
+    }
+
+    // Checks if this map resizes incrementally.
+    public boolean isIncrementalResize() {
+        return incrementalResize;
+    }
+
+    // Checks if an incremental resize is still migrating entries.
+    public boolean isResizing() {
+        return oldTable != null;
+    }
+
+    /**
+     * Returns the probe length histogram of the current table, for diagnostics.
+     * Entries still waiting in the table of an incremental resize are not counted.
+     * Element d is the number of entries stored d slots after their home slot,
+     * i.e. found by a lookup on its (d + 1)th probe.
+     * 
+     * @return The histogram; its length is the longest displacement plus one.
+     */
+    public int[] getProbeLengthHistogram() {
+        int[] histogram = new int[1];
+        for (int i = 0; i < capacity; i++) {
+            Entry<K, V> entry = table[i];
+            if (entry == null || entry == Entry.TOMBSTONE) {
+                continue;
+            }
+            int distance = displacement(i, entry);
+            if (distance >= histogram.length) {
+                int[] grown = new int[Math.max(distance + 1, histogram.length * 2)];
+                System.arraycopy(histogram, 0, grown, 0, histogram.length);
+                histogram = grown;
+            }
+            histogram[distance]++;
+        }
+        int length = histogram.length;
+        while (length > 1 && histogram[length - 1] == 0) {
+            length--;
+        }
+        int[] trimmed = new int[length];
+        System.arraycopy(histogram, 0, trimmed, 0, length);
+        return trimmed;
+    }
+
+    /**
+     * Rehashes the map to a larger capacity (next prime number).
+     * If the load comes mostly from tombstones, the table is only cleaned at the
+     * same capacity, so remove/put churn does not grow it forever.
+     */
     private void rehash() {
+        if ((double) size / capacity >= LOAD_FACTOR_THRESHOLD / 2) {
+            rehash(findNextPrime(capacity * 2)); // Next prime greater than twice current
+        } else {
+            rehash(capacity);
+        }
+    }
+
+    // Moves all entries into a new table of newCapacity slots.
+    @SuppressWarnings("unchecked")
+    private void rehash(int newCapacity) {
+        finishResize(); // Never drain two tables at once
+        modCount++;
         Entry<K, V>[] oldTable = table;
         int oldCapacity = capacity;
 
-        capacity = findNextPrime(capacity * 2); // Next prime greater than twice current
+        capacity = newCapacity;
         table = (Entry<K, V>[]) new Entry[capacity];
-        size = 0;
         tombstones = 0;
 
+        if (incrementalResize) {
+            // Entries stay in the old table (and in size) until migrateStep moves them
+            this.oldTable = oldTable;
+            this.oldCapacity = oldCapacity;
+            this.migrateIndex = 0;
+            return;
+        }
+        size = 0;
+
         for (int i = 0; i < oldCapacity; i++) {
             if (oldTable[i] != null && oldTable[i] != Entry.TOMBSTONE) {
                 put(oldTable[i].key, oldTable[i].value);
@@ -185,6 +753,43 @@ public class GTUHashMap<K, V> {
         }
     }
 
+    /**
+     * Moves the next MIGRATION_STEP slots of the old table into the new one.
+     * A moved slot becomes a tombstone so the probe sequences of the entries
+     * still waiting there stay intact.
+     */
+    @SuppressWarnings("unchecked")
+    private void migrateStep() {
+        modCount++; // Entries change slots
+        int end = Math.min(migrateIndex + MIGRATION_STEP, oldCapacity);
+        for (; migrateIndex < end; migrateIndex++) {
+            Entry<K, V> entry = oldTable[migrateIndex];
+            if (entry != null && entry != Entry.TOMBSTONE) {
+                oldTable[migrateIndex] = (Entry<K, V>) Entry.TOMBSTONE;
+                int index = findIndex(entry.key, true); // Absent here: a key lives in one table only
+                if (table[index] == Entry.TOMBSTONE) {
+                    tombstones--;
+                }
+                table[index] = entry;
+            }
+        }
+        if (migrateIndex == oldCapacity) {
+            oldTable = null; // Fully drained
+        }
+    }
+
+    /**
+     * Completes a pending incremental resize at once. Lookups never migrate
+     * entries (so concurrent readers stay safe), which means a map that is
+     * only read after loading keeps probing two tables until this is called
+     * or the next put/remove finishes the migration.
+     */
+    public void finishResize() {
+        while (oldTable != null) {
+            migrateStep();
+        }
+    }
+
     // Helper for finding the next prime number greater than or equal to n.
     private int findNextPrime(int n) {
         if (n <= 1)
@@ -228,6 +833,145 @@ public class GTUHashMap<K, V> {
         }
     }
 
+    /**
+     * Returns an iterator that walks the table slots directly instead of
+     * copying the keys first, so iterating allocates nothing per key. The
+     * iterator is fail-fast: it throws ConcurrentModificationException if
+     * the map is structurally modified while it is in use.
+     * 
+     * @return An iterator over the keys.
+     */
+    public Iterator<K> keyIterator() {
+        return new Iterator<K>() {
+            private final KeySpliterator cursor = new KeySpliterator();
+            private K next = advance();
+
+            private K advance() {
+                Entry<K, V> entry = cursor.nextEntry();
+                return entry == null ? null : entry.key;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public K next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                K key = next;
+                next = advance();
+                return key;
+            }
+        };
+    }
+
+    /**
+     * Returns a fail-fast Spliterator over the keys. It splits by halving its
+     * range of table slots, so a parallel stream gives each worker its own
+     * part of the table without copying.
+     * 
+     * @return A Spliterator over the keys.
+     */
+    public Spliterator<K> keySpliterator() {
+        return new KeySpliterator();
+    }
+
+    /**
+     * Spliterator over a range of slot positions. During an incremental
+     * resize the old table's slots follow the new table's, so both are
+     * covered by one range.
+     */
+    private class KeySpliterator implements Spliterator<K> {
+        private final Entry<K, V>[] slots;
+        private final Entry<K, V>[] draining;
+        private final int expectedModCount;
+        private int index;
+        private final int fence; // One past the last slot of this range
+
+        KeySpliterator() {
+            this.slots = table;
+            this.draining = oldTable;
+            this.expectedModCount = modCount;
+            this.fence = slots.length + (draining == null ? 0 : draining.length);
+        }
+
+        // The first half of parent's range, split off by trySplit.
+        private KeySpliterator(KeySpliterator parent, int fence) {
+            this.slots = parent.slots;
+            this.draining = parent.draining;
+            this.expectedModCount = parent.expectedModCount;
+            this.index = parent.index;
+            this.fence = fence;
+        }
+
+        private Entry<K, V> slot(int position) {
+            return position < slots.length ? slots[position] : draining[position - slots.length];
+        }
+
+        // Returns the next live entry of the range, or null at its end.
+        Entry<K, V> nextEntry() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            while (index < fence) {
+                Entry<K, V> entry = slot(index++);
+                if (entry != null && entry != Entry.TOMBSTONE) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super K> action) {
+            Entry<K, V> entry = nextEntry();
+            if (entry == null) {
+                return false;
+            }
+            action.accept(entry.key);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super K> action) {
+            for (; index < fence; index++) {
+                Entry<K, V> entry = slot(index);
+                if (entry != null && entry != Entry.TOMBSTONE) {
+                    action.accept(entry.key);
+                }
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<K> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            KeySpliterator prefix = new KeySpliterator(this, middle);
+            index = middle;
+            return prefix;
+        }
+
+        // Assumes the keys are spread evenly over the slots.
+        @Override
+        public long estimateSize() {
+            int total = slots.length + (draining == null ? 0 : draining.length);
+            return (long) size * (fence - index) / Math.max(total, 1);
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
+
     // Retrieves all keys in the map as a GTUArrayList.
     public GTUArrayList<K> getKeys() {
         GTUArrayList<K> keys = new GTUArrayList<>();
@@ -236,6 +980,13 @@ public class GTUHashMap<K, V> {
                 keys.add(table[i].key);
             }
         }
+        if (oldTable != null) {
+            for (int i = migrateIndex; i < oldCapacity; i++) {
+                if (oldTable[i] != null && oldTable[i] != Entry.TOMBSTONE) {
+                    keys.add(oldTable[i].key);
+                }
+            }
+        }
         return keys;
     }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 // File: GTUHashSet.java
 package src.spellchecker;
 
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Custom HashSet implementation using GTUHashMap internally.
  * 
@@ -20,6 +24,15 @@ public class GTUHashSet<E> implements Iterable<E> {
         map = new GTUHashMap<>(initialCapacity);
     }
 
+    public GTUHashSet(int initialCapacity, ProbingStrategy strategy) {
+        map = new GTUHashMap<>(initialCapacity, strategy);
+    }
+
+    // See GTUHashMap for incremental resizing; only supported with linear probing.
+    public GTUHashSet(int initialCapacity, ProbingStrategy strategy, boolean incrementalResize) {
+        map = new GTUHashMap<>(initialCapacity, strategy, incrementalResize);
+    }
+
     /**
      * Adds an element to the set.
      * 
@@ -27,11 +40,49 @@ public class GTUHashSet<E> implements Iterable<E> {
      * @return true if the element was added, false if it already exists.
      */
     public boolean add(E element) {
-        if (map.containsKey(element)) {
-            return false; // Element already present
-        }
-        map.put(element, PRESENT);
-        return true; // Element added
+        return map.putIfAbsent(element, PRESENT) == null; // One probe finds the element or its slot
+    }
+
+    /**
+     * Adds all elements of an array, growing the table once for all of them.
+     * 
+     * @param elements The elements to be added; duplicates are added once.
+     * @return The number of elements that were added.
+     */
+    public int addAll(E[] elements) {
+        return map.putAllAbsent(elements, PRESENT);
+    }
+
+    /**
+     * Adds all elements of a stream. The stream is collected into an array
+     * first, so the table is still grown once for the whole count.
+     * 
+     * @param elements The elements to be added; duplicates are added once.
+     * @return The number of elements that were added.
+     */
+    @SuppressWarnings("unchecked")
+    public int addAll(Stream<? extends E> elements) {
+        return addAll((E[]) elements.toArray());
+    }
+
+    /**
+     * Grows the table so that expectedSize elements fit without rehashing.
+     * Removing elements never shrinks the table below this size again.
+     * 
+     * @param expectedSize The number of elements the set should hold.
+     */
+    public void ensureCapacity(int expectedSize) {
+        map.ensureCapacity(expectedSize);
+    }
+
+    /**
+     * Builds an immutable, tightly packed copy of this set for read-only
+     * lookups. Later changes to this set do not affect the copy.
+     * 
+     * @return The frozen copy.
+     */
+    public FrozenHashSet<E> freeze() {
+        return new FrozenHashSet<>(map.getKeys());
     }
 
     /**
@@ -54,6 +105,20 @@ public class GTUHashSet<E> implements Iterable<E> {
         return map.containsKey(element);
     }
 
+    /**
+     * Checks if the set contains a String equal to the first length characters
+     * of buffer. Lets callers probe candidates built in a reusable buffer
+     * without creating a String for each one.
+     * 
+     * @param buffer   The characters to look up.
+     * @param length   Number of characters of buffer to use.
+     * @param hashCode The String.hashCode() of those characters.
+     * @return true if the set contains such a String, false otherwise.
+     */
+    public boolean containsChars(char[] buffer, int length, int hashCode) {
+        return map.containsChars(buffer, length, hashCode);
+    }
+
     // Returns the number of elements in the set.
     public int size() {
         return map.size();
@@ -64,14 +129,62 @@ public class GTUHashSet<E> implements Iterable<E> {
         return map.size() == 0;
     }
 
-    // Clears all elements from the set.
+    // Clears all elements from the set, shrinking the table back to its presized capacity.
     public void clear() {
-        map = new GTUHashMap<>(); // Easiest way to clear
+        map.clear();
+    }
+
+    // Shrinks the backing table to fit the current elements.
+    public void trimToSize() {
+        map.trimToSize();
     }
 
-    // Returns an iterator over the elements in the set.
+    // Returns the table memory released by shrinking so far (see GTUHashMap).
+    public long getReclaimedBytes() {
+        return map.getReclaimedBytes();
+    }
+
+    // Completes a pending incremental resize of the backing map.
+    public void finishResize() {
+        map.finishResize();
+    }
+
+    /**
+     * Counts the slots a containsChars lookup of the element inspects.
+     * 
+     * @param buffer   The characters of the element.
+     * @param length   Number of characters of buffer that form the element.
+     * @param hashCode The String.hashCode() of those characters.
+     * @return The number of inspected slots.
+     */
+    public int probeLength(char[] buffer, int length, int hashCode) {
+        return map.probeLengthChars(buffer, length, hashCode);
+    }
+
+    // Returns the probe length histogram of the backing map (see GTUHashMap).
+    public int[] getProbeLengthHistogram() {
+        return map.getProbeLengthHistogram();
+    }
+
+    // Returns an iterator over the elements in the set, walking the table without copying it.
     @Override
     public java.util.Iterator<E> iterator() {
-        return map.getKeys().iterator(); // Delegate iteration to GTUHashMap's keys
+        return map.keyIterator();
+    }
+
+    // Returns a Spliterator that splits the table by slot range.
+    @Override
+    public Spliterator<E> spliterator() {
+        return map.keySpliterator();
+    }
+
+    // Returns a sequential stream over the elements.
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // Returns a parallel stream over the elements; each worker reads its own slot range.
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+// File: HashSetView.java
+package src.spellchecker;
+
+import java.util.Iterator;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+/**
+ * The WordSet view behind WordSet.of: forwards each method to the matching
+ * method of a hash set of words, passed in as method references, so every
+ * set type with char lookups shares one adapter.
+ */
+final class HashSetView implements WordSet {
+
+    // A lookup of the word formed by the first length characters of buffer.
+    interface CharLookup {
+        boolean test(char[] buffer, int length, int hashCode);
+    }
+
+    // Counts the slots a CharLookup of the word inspects.
+    interface CharProbe {
+        int applyAsInt(char[] buffer, int length, int hashCode);
+    }
+
+    private final Predicate<String> contains;
+    private final CharLookup containsChars;
+    private final CharProbe probeLength;
+    private final IntSupplier size;
+    private final Iterable<String> words;
+
+    HashSetView(Predicate<String> contains, CharLookup containsChars, CharProbe probeLength, IntSupplier size,
+            Iterable<String> words) {
+        this.contains = contains;
+        this.containsChars = containsChars;
+        this.probeLength = probeLength;
+        this.size = size;
+        this.words = words;
+    }
+
+    @Override
+    public boolean containsWord(String word) {
+        return contains.test(word);
+    }
+
+    @Override
+    public boolean containsChars(char[] buffer, int length, int hashCode) {
+        return containsChars.test(buffer, length, hashCode);
+    }
+
+    @Override
+    public int probeLength(char[] buffer, int length, int hashCode) {
+        return probeLength.applyAsInt(buffer, length, hashCode);
+    }
+
+    @Override
+    public int size() {
+        return size.getAsInt();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return words.iterator();
+    }
+}
@@ -0,0 +1,157 @@
+// File: IntArrayList.java
+package src.spellchecker;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of int values backed by an int[], for hot numeric paths
+ * where GTUArrayList&lt;Integer&gt; would box every element.
+ */
+public class IntArrayList {
+    private static final int DEFAULT_CAPACITY = 10;
+    private int[] elements;
+    private int size;
+
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        this.elements = new int[initialCapacity];
+    }
+
+    /**
+     * Adds a value to the end of the list.
+     * 
+     * @param value The value to be added.
+     */
+    public void add(int value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Appends every value of an array, growing the list at most once.
+     * 
+     * @param values The values to append.
+     */
+    public void addAll(int[] values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+    }
+
+    /**
+     * Retrieves the value at the specified index.
+     * 
+     * @param index The index of the value to retrieve.
+     * @return The value at the specified index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Replaces the value at the specified index.
+     * 
+     * @param index The index of the value to replace.
+     * @param value The new value.
+     * @return The previous value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * Removes the value at the specified index and shifts the following values
+     * to the left.
+     * 
+     * @param index The index of the value to remove.
+     * @return The removed value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Removes every value but keeps the capacity.
+    public void clear() {
+        size = 0;
+    }
+
+    // Sorts the values in ascending order.
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    /**
+     * Grows the internal array, if needed, so that minCapacity values fit
+     * without further copying.
+     * 
+     * @param minCapacity The number of values the list should hold.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(elements.length == 0 ? DEFAULT_CAPACITY : elements.length * 2, minCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    // Shrinks the internal array to the number of values.
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = Arrays.copyOf(elements, size);
+        }
+    }
+
+    // Returns the values in a new array of exactly size() elements.
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
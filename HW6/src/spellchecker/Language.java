@@ -0,0 +1,136 @@
+// File: Language.java
+package src.spellchecker;
+
+import java.util.Locale;
+
+/**
+ * A dictionary together with what is needed to check text in its language:
+ * the locale used to lowercase input and the alphabet the edit generator uses.
+ * Several languages can be loaded side by side, each with its own alphabet.
+ *
+ * The alphabet is derived from the characters that actually occur in the
+ * dictionary, most frequent first, so a Turkish dictionary gets its dotless i,
+ * cedillas and breves while an English one stays close to a-z. The edit distance 2
+ * expansion costs roughly (alphabet size)^2 per position pair, so it scales
+ * with the real alphabet instead of a fixed, enlarged one; frequent letters
+ * come first so likely corrections are generated early.
+ */
+public class Language {
+    private final String code;
+    private final Locale locale;
+    private final WordSet dictionary;
+    private final char[] alphabet;
+    private final boolean dotlessI; // Turkish and Azerbaijani: I lowercases to dotless i
+
+    /**
+     * Creates a language whose alphabet is derived from its dictionary.
+     *
+     * @param code       The language code, e.g. "en" or "tr"; also selects the locale.
+     * @param dictionary The dictionary of correct words.
+     */
+    public Language(String code, WordSet dictionary) {
+        this(code, dictionary, deriveAlphabet(dictionary));
+    }
+
+    /**
+     * @param code       The language code, e.g. "en" or "tr"; also selects the locale.
+     * @param dictionary The dictionary of correct words.
+     * @param alphabet   The characters used for insertions and substitutions.
+     */
+    public Language(String code, WordSet dictionary, char[] alphabet) {
+        this.code = code;
+        this.locale = Locale.forLanguageTag(code);
+        this.dictionary = dictionary;
+        this.alphabet = alphabet.clone();
+        this.dotlessI = locale.getLanguage().equals("tr") || locale.getLanguage().equals("az");
+    }
+
+    /**
+     * Collects the distinct characters of the words, ordered by how often they
+     * occur (ties in character order).
+     *
+     * @param words The words to scan.
+     * @return The characters, most frequent first.
+     */
+    public static char[] deriveAlphabet(Iterable<String> words) {
+        int[] counts = new int[Character.MAX_VALUE + 1];
+        int distinct = 0;
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                if (counts[word.charAt(i)]++ == 0) {
+                    distinct++;
+                }
+            }
+        }
+        char[] alphabet = new char[distinct];
+        int next = 0;
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (counts[c] > 0) {
+                alphabet[next++] = (char) c;
+            }
+        }
+        // Insertion sort by descending count; alphabets are small
+        for (int i = 1; i < alphabet.length; i++) {
+            char c = alphabet[i];
+            int j = i - 1;
+            while (j >= 0 && counts[alphabet[j]] < counts[c]) {
+                alphabet[j + 1] = alphabet[j];
+                j--;
+            }
+            alphabet[j + 1] = c;
+        }
+        return alphabet;
+    }
+
+    /**
+     * Lowercases a word with this language's rules (e.g. Turkish I to dotless i).
+     *
+     * @param word The word to lowercase.
+     * @return The lowercased word.
+     */
+    public String toLowerCase(String word) {
+        return word.toLowerCase(locale);
+    }
+
+    /**
+     * Lowercases a single character with this language's rules, for callers
+     * that build words character by character. Matches toLowerCase(String)
+     * for characters whose lowercase form is a single character.
+     *
+     * @param c The character to lowercase.
+     * @return The lowercased character.
+     */
+    public char toLowerCase(char c) {
+        if (dotlessI) {
+            if (c == 'I') {
+                return '\u0131'; // Dotless i
+            }
+            if (c == '\u0130') { // Dotted capital I
+                return 'i';
+            }
+        }
+        return Character.toLowerCase(c);
+    }
+
+    // Creates an edit generator over this language's alphabet.
+    public EditGenerator newEditGenerator(boolean transpositions) {
+        return new EditGenerator(alphabet, transpositions);
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public WordSet getDictionary() {
+        return dictionary;
+    }
+
+    // Returns a copy of the alphabet, most frequent character first.
+    public char[] getAlphabet() {
+        return alphabet.clone();
+    }
+}
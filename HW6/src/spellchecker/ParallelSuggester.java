@@ -0,0 +1,195 @@
+// File: ParallelSuggester.java
+package src.spellchecker;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Edit distance 1 and 2 suggestions computed on a ForkJoinPool.
+ * The distance 1 variations of the input (the frontier) are generated once;
+ * the frontier is then split into ranges and each range expands its variations
+ * by one more edit on its own EditGenerator. Results are merged in frontier
+ * order, so the output is the same as EditDistanceHelper.generateSuggestions
+ * regardless of how the work was scheduled.
+ *
+ * The dictionary is only read, so it can be shared between worker threads as
+ * long as nobody modifies it while a query is running.
+ */
+public class ParallelSuggester implements SuggestionEngine {
+    private static final int MIN_SPLIT = 16; // Smallest frontier range worth forking
+
+    private final WordSet dictionary;
+    private final ForkJoinPool pool;
+    private final char[] alphabet;
+    private final boolean transpositions;
+
+    /**
+     * @param dictionary  The dictionary of correct words; must not change while
+     *                    queries run.
+     * @param parallelism Number of worker threads.
+     */
+    public ParallelSuggester(WordSet dictionary, int parallelism) {
+        this(dictionary, parallelism, false);
+    }
+
+    /**
+     * @param dictionary     The dictionary of correct words; must not change
+     *                       while queries run.
+     * @param parallelism    Number of worker threads.
+     * @param transpositions Whether swapping adjacent characters is one edit.
+     */
+    public ParallelSuggester(WordSet dictionary, int parallelism, boolean transpositions) {
+        this(dictionary, parallelism, EditGenerator.DEFAULT_ALPHABET, transpositions);
+    }
+
+    /**
+     * @param dictionary     The dictionary of correct words; must not change
+     *                       while queries run.
+     * @param parallelism    Number of worker threads.
+     * @param alphabet       The characters used for insertions and substitutions,
+     *                       e.g. Language.getAlphabet().
+     * @param transpositions Whether swapping adjacent characters is one edit.
+     */
+    public ParallelSuggester(WordSet dictionary, int parallelism, char[] alphabet, boolean transpositions) {
+        this.dictionary = dictionary;
+        this.pool = new ForkJoinPool(parallelism);
+        this.alphabet = alphabet.clone();
+        this.transpositions = transpositions;
+    }
+
+    private EditGenerator newGenerator() {
+        return new EditGenerator(alphabet, transpositions);
+    }
+
+    @Override
+    public GTUArrayList<String> suggest(String word) {
+        return suggest(word, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public GTUArrayList<String> suggest(String word, int limit) {
+        return suggest(word, limit, null);
+    }
+
+    @Override
+    public GTUArrayList<String> suggest(String word, int limit, QueryStats stats) {
+        if (stats != null) {
+            stats.instrumented();
+        }
+        GTUArrayList<String> suggestions = new GTUArrayList<>();
+        GTUHashSet<String> seen = new GTUHashSet<>();
+        // Distinct distance 1 variations packed back to back: variation i is chars[offsets[i], offsets[i + 1])
+        CharArrayList frontierChars = new CharArrayList((word.length() + 1) * 64);
+        IntArrayList frontierOffsets = new IntArrayList(64);
+        frontierOffsets.add(0);
+        GTUHashSet<String> frontierSeen = new GTUHashSet<>();
+
+        // Distance 1: probe and remember each distinct variation for the second pass
+        newGenerator().forEachEdit(word, 1, (buffer, length, hashCode, distance) -> {
+            if (frontierSeen.containsChars(buffer, length, hashCode)) {
+                return true;
+            }
+            String variant = new String(buffer, 0, length);
+            frontierSeen.add(variant);
+            if (stats != null) {
+                stats.candidate(1);
+                stats.probe(dictionary.probeLength(buffer, length, hashCode));
+            }
+            frontierChars.addAll(buffer, 0, length);
+            frontierOffsets.add(frontierChars.size());
+            if (dictionary.containsChars(buffer, length, hashCode) && seen.add(variant)) {
+                suggestions.add(variant);
+            }
+            return true;
+        });
+        if (suggestions.size() >= limit) {
+            return suggestions; // Enough distance 1 words; skip the parallel expansion
+        }
+
+        int frontierSize = frontierOffsets.size() - 1;
+        int threshold = Math.max(MIN_SPLIT, frontierSize / (pool.getParallelism() * 4));
+        GTUArrayList<String> distance2 = pool.invoke(
+                new ExpandTask(frontierChars, frontierOffsets, 0, frontierSize, threshold, stats));
+
+        for (String suggestion : distance2) {
+            if (seen.add(suggestion)) {
+                suggestions.add(suggestion);
+            }
+        }
+        return suggestions;
+    }
+
+    // Returns the number of worker threads.
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Expands frontier[from, to) by one edit and returns the dictionary hits in
+     * frontier order.
+     */
+    private class ExpandTask extends RecursiveTask<GTUArrayList<String>> {
+        private static final long serialVersionUID = 1L;
+
+        private final CharArrayList frontierChars;
+        private final IntArrayList frontierOffsets;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final QueryStats stats; // null if not instrumented
+
+        ExpandTask(CharArrayList frontierChars, IntArrayList frontierOffsets, int from, int to, int threshold,
+                QueryStats stats) {
+            this.frontierChars = frontierChars;
+            this.frontierOffsets = frontierOffsets;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.stats = stats;
+        }
+
+        @Override
+        protected GTUArrayList<String> compute() {
+            if (to - from <= threshold) {
+                return expand();
+            }
+            int middle = (from + to) >>> 1;
+            ExpandTask left = new ExpandTask(frontierChars, frontierOffsets, from, middle, threshold, stats);
+            ExpandTask right = new ExpandTask(frontierChars, frontierOffsets, middle, to, threshold, stats);
+            left.fork();
+            GTUArrayList<String> rightHits = right.compute();
+            GTUArrayList<String> hits = left.join();
+            hits.addAll(rightHits); // Left range first keeps the merge deterministic
+            return hits;
+        }
+
+        private GTUArrayList<String> expand() {
+            GTUArrayList<String> hits = new GTUArrayList<>();
+            GTUHashSet<String> seen = new GTUHashSet<>();
+            EditGenerator generator = newGenerator();
+            EditGenerator.Visitor probe = (buffer, length, hashCode, distance) -> {
+                if (stats != null) {
+                    stats.candidate(2);
+                    stats.probe(dictionary.probeLength(buffer, length, hashCode));
+                }
+                if (dictionary.containsChars(buffer, length, hashCode) && !seen.containsChars(buffer, length, hashCode)) {
+                    String hit = new String(buffer, 0, length);
+                    seen.add(hit);
+                    hits.add(hit);
+                }
+                return true;
+            };
+            char[] variant = new char[16];
+            for (int i = from; i < to; i++) {
+                int start = frontierOffsets.get(i);
+                int length = frontierOffsets.get(i + 1) - start;
+                if (length > variant.length) {
+                    variant = new char[length * 2];
+                }
+                frontierChars.getChars(start, start + length, variant, 0);
+                generator.forEachEdit1(variant, length, probe);
+            }
+            return hits;
+        }
+    }
+}
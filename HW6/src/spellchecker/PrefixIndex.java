@@ -0,0 +1,179 @@
+// File: PrefixIndex.java
+package src.spellchecker;
+
+/**
+ * Type-ahead completion over a dictionary: the words that start with a
+ * prefix, best first.
+ * A hash set cannot answer a prefix query without scanning every word, but in
+ * sorted order all completions of a prefix form one contiguous range, found
+ * with two binary searches. The sorted words are packed back to back into a
+ * single char array with an int offset per word, so the index holds no String
+ * objects: about 2 bytes per character plus 4 bytes per word (8 with
+ * frequencies), several times less than a trie or an array of Strings.
+ *
+ * Without frequencies the completions are the first k words of the range in
+ * alphabetical order; with frequencies the k most frequent words of the range
+ * are chosen with a bounded TopKHeap (ties alphabetically).
+ * The index is immutable and safe to share between threads.
+ */
+public class PrefixIndex {
+    private final char[] chars; // All words, sorted, back to back
+    private final int[] offsets; // Word i is chars[offsets[i], offsets[i + 1])
+    private final int[] frequencies; // Per sorted word, or null if unranked
+    private final int wordCount;
+
+    /**
+     * Builds an index whose completions are listed alphabetically.
+     *
+     * @param words The words to index; duplicates are stored once.
+     */
+    public PrefixIndex(Iterable<String> words) {
+        this(words, null);
+    }
+
+    /**
+     * Builds an index whose completions are ranked by frequency.
+     *
+     * @param words       The words to index; duplicates are stored once.
+     * @param frequencies Word counts, e.g. from RankedSuggester.loadFrequencies;
+     *                    missing words count as 0. null lists completions
+     *                    alphabetically.
+     */
+    public PrefixIndex(Iterable<String> words, GTUHashMap<String, Integer> frequencies) {
+        GTUArrayList<String> sorted = new GTUArrayList<>();
+        for (String word : words) {
+            sorted.add(word);
+        }
+        sorted.sort(null);
+
+        CharArrayList packed = new CharArrayList(sorted.size() * 10);
+        IntArrayList starts = new IntArrayList(sorted.size() + 1);
+        IntArrayList counts = frequencies == null ? null : new IntArrayList(sorted.size());
+        String previous = null;
+        for (String word : sorted) {
+            if (word.equals(previous)) {
+                continue; // Duplicates are adjacent once sorted
+            }
+            previous = word;
+            starts.add(packed.size());
+            packed.addAll(word.toCharArray());
+            if (counts != null) {
+                Integer count = frequencies.get(word);
+                counts.add(count == null ? 0 : count);
+            }
+        }
+        starts.add(packed.size());
+        this.wordCount = starts.size() - 1;
+        this.chars = packed.toArray();
+        this.offsets = starts.toArray();
+        this.frequencies = counts == null ? null : counts.toArray();
+    }
+
+    /**
+     * Compares word index with the prefix, looking at no more than
+     * prefix.length() characters of the word, so every completion of the
+     * prefix compares as equal.
+     *
+     * @return Negative if the word sorts before the prefix's range, positive if
+     *         after it, 0 if the word starts with the prefix.
+     */
+    private int comparePrefix(int index, String prefix) {
+        int start = offsets[index];
+        int length = offsets[index + 1] - start;
+        int common = Math.min(length, prefix.length());
+        for (int i = 0; i < common; i++) {
+            int difference = chars[start + i] - prefix.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length < prefix.length() ? -1 : 0;
+    }
+
+    // First word whose comparison with the prefix is at least bound (0: in range, 1: after it).
+    private int lowerBound(String prefix, int bound) {
+        int low = 0;
+        int high = wordCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Integer.signum(comparePrefix(middle, prefix)) < bound) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private String word(int index) {
+        return new String(chars, offsets[index], offsets[index + 1] - offsets[index]);
+    }
+
+    /**
+     * Returns the best k words that start with the prefix: the most frequent
+     * if the index has frequencies, otherwise the alphabetically first.
+     *
+     * @param prefix The typed prefix; the empty prefix matches every word.
+     * @param k      Maximum number of completions.
+     * @return A GTUArrayList of at most k completions, best first.
+     */
+    public GTUArrayList<String> prefix(String prefix, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Illegal k: " + k);
+        }
+        int from = lowerBound(prefix, 0);
+        int to = lowerBound(prefix, 1);
+        GTUArrayList<String> completions = new GTUArrayList<>(Math.min(k, to - from));
+        if (frequencies == null || to - from <= 1) {
+            for (int i = from; i < to && completions.size() < k; i++) {
+                completions.add(word(i));
+            }
+            return completions;
+        }
+        // Indexes are in alphabetical order, so they break frequency ties
+        TopKHeap<Integer> best = new TopKHeap<>(k, (a, b) -> frequencies[a] != frequencies[b]
+                ? Integer.compare(frequencies[b], frequencies[a])
+                : Integer.compare(a, b));
+        for (int i = from; i < to; i++) {
+            best.offer(i);
+        }
+        for (int index : best.drainSorted()) {
+            completions.add(word(index));
+        }
+        return completions;
+    }
+
+    /**
+     * Counts the words that start with the prefix without creating them.
+     *
+     * @param prefix The prefix.
+     * @return The number of completions.
+     */
+    public int countPrefix(String prefix) {
+        return lowerBound(prefix, 1) - lowerBound(prefix, 0);
+    }
+
+    // Returns the number of distinct words in the index.
+    public int size() {
+        return wordCount;
+    }
+
+    // Checks if completions are ranked by frequency.
+    public boolean isRanked() {
+        return frequencies != null;
+    }
+
+    /**
+     * Estimates the heap footprint of the index: its arrays including their
+     * 16 byte headers.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long getMemoryBytes() {
+        long bytes = 16 + 2L * chars.length + 16 + 4L * offsets.length;
+        if (frequencies != null) {
+            bytes += 16 + 4L * frequencies.length;
+        }
+        return bytes;
+    }
+}
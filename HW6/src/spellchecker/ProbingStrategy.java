@@ -0,0 +1,23 @@
+// File: ProbingStrategy.java
+package src.spellchecker;
+
+/**
+ * Collision resolution strategies supported by GTUHashMap.
+ */
+public enum ProbingStrategy {
+    /**
+     * Linear probing; removed entries leave tombstones. Once tombstones fill
+     * a quarter of the table, remove compacts them away in place, and a rehash
+     * drops them as well.
+     */
+    LINEAR,
+
+    /**
+     * Linear probing with Robin Hood insertion: an entry further from its home
+     * slot takes the place of one closer to its own, which keeps probe lengths
+     * short and even. Lookups stop as soon as they meet an entry closer to home
+     * than the key would be, and removal shifts the rest of the cluster back,
+     * so no tombstones are ever created.
+     */
+    ROBIN_HOOD
+}
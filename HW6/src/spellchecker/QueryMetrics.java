@@ -0,0 +1,158 @@
+// File: QueryMetrics.java
+package src.spellchecker;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregates the QueryStats of many suggestion queries into histograms, so
+ * the percentiles of latency, candidates, dictionary probes and allocation
+ * show where the time goes, and which input lengths it goes to.
+ * Every counter is recorded per query into its own LatencyHistogram, for
+ * the queries whose engine filled them; the others are only counted;
+ * latency is additionally broken down by the length of the query word,
+ * because the number of edits (and with it the cost) grows with the length.
+ * Recording is thread-safe. The result can be written as a JSON document.
+ */
+public class QueryMetrics {
+    private static final int MAX_LENGTH = 32; // Longer words share the last length bucket
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong uninstrumented = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram candidates1 = new LatencyHistogram();
+    private final LatencyHistogram candidates2 = new LatencyHistogram();
+    private final LatencyHistogram probes = new LatencyHistogram();
+    private final LatencyHistogram probeSlots = new LatencyHistogram();
+    private final LatencyHistogram longestProbe = new LatencyHistogram();
+    private final LatencyHistogram allocatedBytes = new LatencyHistogram();
+    private final LatencyHistogram suggestions = new LatencyHistogram();
+    private final LatencyHistogram[] latencyByLength = new LatencyHistogram[MAX_LENGTH + 1];
+
+    public QueryMetrics() {
+        for (int i = 0; i < latencyByLength.length; i++) {
+            latencyByLength[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns the bytes allocated so far by the calling thread, as counted by
+     * the HotSpot thread MXBean. Subtracting two readings estimates what a
+     * query allocated on that thread; work handed to other threads (e.g. by
+     * ParallelSuggester) is not included.
+     *
+     * @return The allocated bytes, or -1 if the JVM does not count them.
+     */
+    public static long threadAllocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Records a finished query.
+     *
+     * @param word            The query word.
+     * @param stats           The counters the engine filled for it.
+     * @param nanos           Its latency.
+     * @param allocatedBytes  Bytes it allocated, or a negative value if unknown.
+     * @param suggestionCount Number of suggestions it returned.
+     */
+    public void record(String word, QueryStats stats, long nanos, long allocatedBytes, int suggestionCount) {
+        latency.record(nanos);
+        latencyByLength[Math.min(word.length(), MAX_LENGTH)].record(nanos);
+        // A hit did no generation work; leaving it out keeps the counts per computed query
+        if (stats.isCacheHit()) {
+            cacheHits.incrementAndGet();
+        } else if (!stats.isInstrumented()) {
+            uninstrumented.incrementAndGet(); // Its counters are zeros, not measurements
+        } else {
+            candidates1.record(stats.getCandidates1());
+            candidates2.record(stats.getCandidates2());
+            probes.record(stats.getProbes());
+            probeSlots.record(stats.getProbeSlots());
+            longestProbe.record(stats.getLongestProbe());
+        }
+        if (allocatedBytes >= 0) {
+            this.allocatedBytes.record(allocatedBytes);
+        }
+        suggestions.record(suggestionCount);
+    }
+
+    // Returns the number of recorded queries.
+    public long getQueryCount() {
+        return latency.getCount();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    // Returns the number of computed queries whose engine did not fill the counters.
+    public long getUninstrumentedQueries() {
+        return uninstrumented.get();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram getProbes() {
+        return probes;
+    }
+
+    /**
+     * Returns the aggregated statistics as a JSON document. Latencies are in
+     * nanoseconds, allocation in bytes, everything else in counts per query;
+     * the candidate and probe histograms only cover instrumented queries.
+     *
+     * @return The JSON text, without a trailing line break.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(4096);
+        json.append("{\n  \"queries\": ").append(getQueryCount());
+        json.append(",\n  \"cacheHits\": ").append(getCacheHits());
+        json.append(",\n  \"uninstrumentedQueries\": ").append(getUninstrumentedQueries());
+        json.append(",\n  \"latencyNanos\": ").append(latency.toJson());
+        json.append(",\n  \"candidatesDistance1\": ").append(candidates1.toJson());
+        json.append(",\n  \"candidatesDistance2\": ").append(candidates2.toJson());
+        json.append(",\n  \"probes\": ").append(probes.toJson());
+        json.append(",\n  \"probeSlots\": ").append(probeSlots.toJson());
+        json.append(",\n  \"longestProbe\": ").append(longestProbe.toJson());
+        json.append(",\n  \"allocatedBytes\": ").append(allocatedBytes.toJson());
+        json.append(",\n  \"suggestions\": ").append(suggestions.toJson());
+        json.append(",\n  \"latencyNanosByLength\": {");
+        boolean first = true;
+        for (int length = 0; length < latencyByLength.length; length++) {
+            if (latencyByLength[length].getCount() == 0) {
+                continue;
+            }
+            json.append(first ? "\n    \"" : ",\n    \"").append(length).append(length == MAX_LENGTH ? "+" : "")
+                    .append("\": ").append(latencyByLength[length].toJson());
+            first = false;
+        }
+        json.append(first ? "}" : "\n  }").append("\n}");
+        return json.toString();
+    }
+
+    /**
+     * Writes toJson() to a file, replacing its contents.
+     *
+     * @param fileName The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeJson(String fileName) throws IOException {
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(fileName), StandardCharsets.UTF_8)) {
+            out.write(toJson());
+            out.write('\n');
+        }
+    }
+}
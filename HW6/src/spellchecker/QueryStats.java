@@ -0,0 +1,105 @@
+// File: QueryStats.java
+package src.spellchecker;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the work done for one suggestion query: how many candidates
+ * were generated at each edit distance, how many of them were looked up in
+ * the dictionary and how many table slots those lookups inspected, and
+ * whether the answer came from a cache.
+ * Engines that support it mark the query as instrumented and fill the
+ * counters while they run (see SuggestionEngine.suggest(String, int,
+ * QueryStats)). A query that was neither instrumented nor a cache hit is
+ * reported as n/a: toString says so, and QueryMetrics counts it apart
+ * instead of recording its zeros. QueryMetrics aggregates finished queries.
+ * The counters are thread-safe, so a parallel engine can update them from
+ * its worker threads.
+ */
+public class QueryStats {
+    private final LongAdder candidates1 = new LongAdder();
+    private final LongAdder candidates2 = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder probeSlots = new LongAdder();
+    private final LongAccumulator longestProbe = new LongAccumulator(Math::max, 0);
+    private volatile boolean cacheHit;
+    private volatile boolean instrumented;
+
+    // Marks the counters as filled by the engine, so zeros are measurements.
+    public void instrumented() {
+        instrumented = true;
+    }
+
+    /**
+     * Counts a generated candidate.
+     *
+     * @param distance Its edit distance from the query, 1 or 2.
+     */
+    public void candidate(int distance) {
+        if (distance == 1) {
+            candidates1.increment();
+        } else {
+            candidates2.increment();
+        }
+    }
+
+    /**
+     * Counts a dictionary lookup.
+     *
+     * @param slots The slots it inspected (WordSet.probeLength), or -1 if the
+     *              dictionary cannot tell; then only the lookup is counted.
+     */
+    public void probe(int slots) {
+        probes.increment();
+        if (slots >= 0) {
+            probeSlots.add(slots);
+            longestProbe.accumulate(slots);
+        }
+    }
+
+    // Marks the query as answered by a SuggestionCache.
+    public void cacheHit() {
+        cacheHit = true;
+    }
+
+    public long getCandidates1() {
+        return candidates1.sum();
+    }
+
+    public long getCandidates2() {
+        return candidates2.sum();
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    // Returns the slots inspected by all lookups together.
+    public long getProbeSlots() {
+        return probeSlots.sum();
+    }
+
+    public long getLongestProbe() {
+        return longestProbe.get();
+    }
+
+    public boolean isCacheHit() {
+        return cacheHit;
+    }
+
+    public boolean isInstrumented() {
+        return instrumented;
+    }
+
+    @Override
+    public String toString() {
+        if (!instrumented && !cacheHit) {
+            return "work counters n/a (engine does not instrument)";
+        }
+        long lookups = getProbes();
+        return String.format("candidates d1=%d d2=%d, probes=%d (mean length %.2f, longest %d)%s", getCandidates1(),
+                getCandidates2(), lookups, lookups == 0 ? 0 : (double) getProbeSlots() / lookups,
+                getLongestProbe(), cacheHit ? ", cache hit" : "");
+    }
+}
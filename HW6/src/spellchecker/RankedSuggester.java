@@ -0,0 +1,149 @@
+// File: RankedSuggester.java
+package src.spellchecker;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Ranks the suggestions of another engine and keeps only the best k.
+ * Candidates are ordered by edit distance, then by word frequency (more
+ * frequent first), then alphabetically, using a bounded TopKHeap. The wrapped
+ * engine is told that only k suggestions are needed, so it can skip the edit
+ * distance 2 expansion when k distance 1 words are found.
+ * Optionally the distance is the keyboard-aware WeightedEditDistance, so
+ * neighbouring-key typos and swapped letters rank above other edits.
+ */
+public class RankedSuggester implements SuggestionEngine {
+
+    /**
+     * A candidate with the values it is ranked by.
+     */
+    private static class Candidate {
+        private final String word;
+        private final int distance;
+        private final int frequency;
+
+        Candidate(String word, int distance, int frequency) {
+            this.word = word;
+            this.distance = distance;
+            this.frequency = frequency;
+        }
+    }
+
+    private final SuggestionEngine engine;
+    private final GTUHashMap<String, Integer> frequencies;
+    private final int k;
+    private final int maxDistance;
+    private final ThreadLocal<WeightedEditDistance> weighted; // null for plain Levenshtein
+
+    /**
+     * @param engine      The engine producing the candidates.
+     * @param frequencies Word frequencies; words missing from it count as 0.
+     * @param k           Maximum number of suggestions returned.
+     * @param maxDistance The largest edit distance the engine produces.
+     */
+    public RankedSuggester(SuggestionEngine engine, GTUHashMap<String, Integer> frequencies, int k,
+            int maxDistance) {
+        this(engine, frequencies, k, maxDistance, false);
+    }
+
+    /**
+     * @param engine      The engine producing the candidates.
+     * @param frequencies Word frequencies; words missing from it count as 0.
+     * @param k           Maximum number of suggestions returned.
+     * @param maxDistance The largest edit distance the engine produces.
+     * @param weighted    Whether to rank by WeightedEditDistance instead of
+     *                    Levenshtein distance.
+     */
+    public RankedSuggester(SuggestionEngine engine, GTUHashMap<String, Integer> frequencies, int k,
+            int maxDistance, boolean weighted) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Illegal k: " + k);
+        }
+        this.engine = engine;
+        this.frequencies = frequencies;
+        this.k = k;
+        this.maxDistance = maxDistance;
+        this.weighted = weighted ? ThreadLocal.withInitial(WeightedEditDistance::new) : null;
+    }
+
+    @Override
+    public GTUArrayList<String> suggest(String word) {
+        return suggest(word, k, null);
+    }
+
+    @Override
+    public GTUArrayList<String> suggest(String word, int limit, QueryStats stats) {
+        TopKHeap<Candidate> best = new TopKHeap<>(k, (a, b) -> {
+            if (a.distance != b.distance) {
+                return Integer.compare(a.distance, b.distance);
+            }
+            if (a.frequency != b.frequency) {
+                return Integer.compare(b.frequency, a.frequency);
+            }
+            return a.word.compareTo(b.word);
+        });
+
+        GTUArrayList<String> candidates = stats == null ? engine.suggest(word, k) : engine.suggest(word, k, stats);
+        for (int i = 0; i < candidates.size(); i++) {
+            String candidate = candidates.get(i);
+            int distance = weighted != null
+                    ? weighted.get().distance(word, candidate, maxDistance * WeightedEditDistance.EDIT_COST)
+                    : EditDistanceHelper.calculateEditDistance(word, candidate, maxDistance);
+            Integer frequency = frequencies.get(candidate);
+            best.offer(new Candidate(candidate, distance, frequency == null ? 0 : frequency));
+        }
+
+        GTUArrayList<String> suggestions = new GTUArrayList<>(best.size());
+        for (Candidate candidate : best.drainSorted()) {
+            suggestions.add(candidate.word);
+        }
+        return suggestions;
+    }
+
+    @Override
+    public GTUArrayList<String> suggest(String word, int limit) {
+        return suggest(word); // Already limited to k
+    }
+
+    /**
+     * Loads a frequency-annotated dictionary: one "word count" pair per line,
+     * separated by whitespace. Lines without a valid count are skipped.
+     * 
+     * @param fileName The frequency file.
+     * @return A GTUHashMap from lowercase word to its count.
+     * @throws IOException If the file cannot be read.
+     */
+    public static GTUHashMap<String, Integer> loadFrequencies(String fileName) throws IOException {
+        GTUHashMap<String, Integer> frequencies = new GTUHashMap<>(120000);
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName, StandardCharsets.UTF_8), 65536)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                int split = indexOfWhitespace(line);
+                if (split <= 0) {
+                    continue;
+                }
+                try {
+                    int count = Integer.parseInt(line.substring(split).trim());
+                    frequencies.put(line.substring(0, split).toLowerCase(Locale.ROOT), count);
+                } catch (NumberFormatException e) {
+                    // Not a "word count" line; ignore it
+                }
+            }
+        }
+        return frequencies;
+    }
+
+    private static int indexOfWhitespace(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (Character.isWhitespace(line.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,195 @@
+// File: ReloadableWordSet.java
+package src.spellchecker;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * A dictionary that can be replaced by a freshly loaded one while it is being
+ * queried.
+ * Queries go through a volatile reference to the current dictionary. A reload
+ * builds the complete new dictionary first, on the reloading thread, and then
+ * publishes it with a single volatile write: queries never block or see a
+ * half-built set, a query that already started finishes on the generation it
+ * started with, and the old generation becomes garbage as soon as the last
+ * such query returns.
+ *
+ * Reloads can be triggered explicitly or by a background thread that polls the
+ * file's modification time and size. Reloads are serialized; lookups are not
+ * affected by them.
+ */
+public class ReloadableWordSet implements WordSet {
+
+    /**
+     * Builds a dictionary from a file, e.g. into a GTUHashSet or by mapping a
+     * compiled dictionary.
+     */
+    public interface Loader {
+        WordSet load(String fileName) throws IOException;
+    }
+
+    /**
+     * Notified on the reloading thread after each reload attempt.
+     */
+    public interface Listener {
+        /**
+         * Called after a new dictionary was published.
+         *
+         * @param dictionary The new dictionary.
+         * @param generation Number of successful reloads so far.
+         * @param nanos      Time spent loading it.
+         */
+        void reloaded(WordSet dictionary, long generation, long nanos);
+
+        // Called when loading failed; the previous dictionary stays in use.
+        default void failed(IOException e) {
+        }
+    }
+
+    private final String fileName;
+    private final Loader loader;
+    private volatile WordSet current;
+    private volatile long generation;
+    private final GTUArrayList<Listener> listeners = new GTUArrayList<>();
+    private Thread watcher;
+
+    /**
+     * @param fileName The file the dictionary is loaded from.
+     * @param initial  The dictionary already loaded from it.
+     * @param loader   Builds a new dictionary from the file on reload.
+     */
+    public ReloadableWordSet(String fileName, WordSet initial, Loader loader) {
+        this.fileName = fileName;
+        this.current = initial;
+        this.loader = loader;
+    }
+
+    @Override
+    public boolean containsWord(String word) {
+        return current.containsWord(word);
+    }
+
+    @Override
+    public boolean containsChars(char[] buffer, int length, int hashCode) {
+        return current.containsChars(buffer, length, hashCode);
+    }
+
+    @Override
+    public int probeLength(char[] buffer, int length, int hashCode) {
+        return current.probeLength(buffer, length, hashCode);
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return current.iterator();
+    }
+
+    // Returns the dictionary currently answering queries.
+    public WordSet current() {
+        return current;
+    }
+
+    // Returns the number of successful reloads.
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Registers a listener, e.g. to invalidate caches built from the old
+     * dictionary.
+     *
+     * @param listener The listener.
+     */
+    public synchronized void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Loads the file again and swaps the result in. Blocks the caller, but no
+     * query, until the new dictionary is published. Holds the lock of this
+     * object meanwhile, so a writer synchronizing on it never interleaves with
+     * a reload.
+     *
+     * @return true if the new dictionary was published, false if loading failed.
+     */
+    public synchronized boolean reload() {
+        long start = System.nanoTime();
+        WordSet loaded;
+        try {
+            loaded = loader.load(fileName);
+        } catch (IOException e) {
+            for (Listener listener : listeners) {
+                listener.failed(e);
+            }
+            return false;
+        }
+        current = loaded; // Queries switch over here
+        long published = ++generation;
+        long nanos = System.nanoTime() - start;
+        for (Listener listener : listeners) {
+            listener.reloaded(loaded, published, nanos);
+        }
+        return true;
+    }
+
+    /**
+     * Starts a daemon thread that reloads the dictionary whenever the file's
+     * modification time or size changes. A change is only loaded once it was
+     * stable for a whole interval, so a file that is still being written is
+     * not picked up half way.
+     *
+     * @param intervalMillis How often the file is checked.
+     */
+    public synchronized void startWatching(long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Illegal interval: " + intervalMillis);
+        }
+        if (watcher != null) {
+            throw new IllegalStateException("Already watching " + fileName);
+        }
+        File file = new File(fileName);
+        watcher = new Thread(() -> {
+            long loadedModified = file.lastModified();
+            long loadedLength = file.length();
+            long seenModified = loadedModified;
+            long seenLength = loadedLength;
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(intervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long modified = file.lastModified();
+                long length = file.length();
+                if (modified != seenModified || length != seenLength) {
+                    seenModified = modified; // Still changing; wait until it is stable for one interval
+                    seenLength = length;
+                } else if (modified != 0 && (modified != loadedModified || length != loadedLength)) {
+                    loadedModified = modified;
+                    loadedLength = length;
+                    reload();
+                }
+            }
+        }, "dictionary-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    // Stops the watching thread, if any.
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher = null;
+        }
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
@@ -0,0 +1,76 @@
+// File: ResizePauseBenchmark.java
+package src.spellchecker;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Measures the latency of every single put while a GTUHashMap grows from its
+ * default capacity, once with stop-the-world rehashing and once with
+ * incremental rehashing, and reports the longest pause of each.
+ *
+ * Usage: java src.spellchecker.ResizePauseBenchmark [words file] [copies]
+ * The words of the file (default dictionary.txt) are inserted copies times
+ * (default 4), suffixed with the copy number so every key is distinct.
+ */
+public class ResizePauseBenchmark {
+    private static final int ROUNDS = 5; // The first rounds warm up the JIT; the last one is reported
+
+    public static void main(String[] args) throws IOException {
+        String fileName = args.length > 0 ? args[0] : "dictionary.txt";
+        int copies = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        GTUArrayList<String> words = new GTUArrayList<>(1 << 17);
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName), 65536)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    for (int copy = 0; copy < copies; copy++) {
+                        words.add(copy == 0 ? line : line + copy);
+                    }
+                }
+            }
+        }
+        System.out.println("Inserting " + words.size() + " keys into an empty GTUHashMap.");
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            boolean report = round == ROUNDS;
+            run("stop-the-world", words, false, report);
+            run("incremental", words, true, report);
+        }
+    }
+
+    // Inserts all words into a fresh map, timing each put.
+    private static void run(String name, GTUArrayList<String> words, boolean incremental, boolean report) {
+        GTUHashMap<String, Integer> map = new GTUHashMap<>(16, ProbingStrategy.LINEAR, incremental);
+        long[] pauses = new long[words.size()];
+        long start = System.nanoTime();
+        for (int i = 0; i < words.size(); i++) {
+            long before = System.nanoTime();
+            map.put(words.get(i), i);
+            pauses[i] = System.nanoTime() - before;
+        }
+        long total = System.nanoTime() - start;
+        if (!report) {
+            return;
+        }
+        long max = 0;
+        int maxIndex = 0;
+        long over100us = 0;
+        for (int i = 0; i < pauses.length; i++) {
+            if (pauses[i] > max) {
+                max = pauses[i];
+                maxIndex = i;
+            }
+            if (pauses[i] > 100_000) {
+                over100us++;
+            }
+        }
+        Arrays.sort(pauses);
+        System.out.printf("%-15s total %8.2f ms, p99.9 %7.2f us, max pause %8.2f us (put #%d), puts over 100 us: %d%n",
+                name, total / 1e6, pauses[(int) (pauses.length * 0.999)] / 1e3, max / 1e3, maxIndex, over100us);
+    }
+}
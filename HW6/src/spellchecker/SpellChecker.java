@@ -2,39 +2,316 @@
 package src.spellchecker;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 /**
  * SpellChecker application that uses GTUHashSet to check spelling and suggest
  * corrections.
+ * 
+ * Usage: java src.spellchecker.SpellChecker
+ * [--engine=edits|parallel|symspell|trie|dawg] [--max-distance=N] [--threads=N]
+ * [--batch=FILE [--no-suggestions]] [--compiled=FILE] [--freq=FILE] [--top=K]
+ * [--cache=N] [--set=gtu|string|concurrent|frozen|dawg] [--probing=linear|robinhood]
+ * [--distance=levenshtein|weighted] [--bloom] [--dict=CODE:FILE]... [--lang=CODE]
+ * [--complete=K] [--server=PORT] [--reload=SECONDS] [--stats=FILE]
+ * 
+ * With --batch the whole file is checked in one streaming pass and the
+ * misspellings are written to standard output; progress messages and the
+ * words/second report go to standard error.
+ * With --compiled the dictionary is memory-mapped from a file built by
+ * CompiledDictionary instead of being loaded from dictionary.txt.
+ * With --freq or --top the suggestions are ranked by distance and word
+ * frequency and only the best K (default 10) are shown.
+ * With --cache the suggestions of the last N distinct misspellings are kept in
+ * an LRU cache; its statistics are printed on exit.
+ * With --set=string dictionary.txt is loaded into the specialised
+ * StringHashSet instead of GTUHashSet; --probing selects the collision
+ * strategy of the GTUHashSet. With --set=concurrent it is loaded into a
+ * ConcurrentWordSet, and entering "+word" adds a custom word while running.
+ * With --set=frozen the loaded GTUHashSet is frozen into an immutable, packed
+ * FrozenHashSet. With --set=dawg the words are stored in a minimal automaton
+ * (Dawg) instead of String objects; --engine=dawg searches such an automaton
+ * (built from the dictionary unless it already is one) for suggestions.
+ * With --distance=weighted the edits and parallel engines also treat swapped
+ * adjacent letters as one edit, and suggestions are ranked by the
+ * keyboard-aware WeightedEditDistance.
+ * With --bloom a blocked Bloom filter built from the dictionary rejects most
+ * misses before the dictionary itself is probed.
+ * Each --dict loads a dictionary for a language (default en:dictionary.txt);
+ * several can be held side by side, each with the alphabet derived from its
+ * own words and input lowercased with its locale. --lang selects the language
+ * checked first, and entering ":CODE" switches to another one. --compiled
+ * replaces the file of the first dictionary.
+ * With --complete a PrefixIndex is built next to each dictionary, and
+ * entering "prefix*" lists up to K completions (most frequent first with
+ * --freq).
+ * With --server the dictionary is loaded once and served to SpellServer
+ * clients on the loopback interface instead of reading from standard input;
+ * latency statistics are printed when the process is stopped.
+ * With --reload every dictionary file is checked every SECONDS seconds; a
+ * changed file is loaded in the background and swapped in without blocking
+ * lookups, and the caches and prefix indexes are rebuilt for it. With
+ * --compiled the compiled file is watched, not the text dictionary it was
+ * built from. Words added with "+word" are kept across reloads.
+ * With --stats every suggestion query is instrumented: interactively its
+ * candidates, dictionary probes and allocation are printed after it, and on
+ * exit (also with --batch) the percentiles over all queries are written to
+ * FILE as JSON by QueryMetrics.
  */
 public class SpellChecker {
+    private static final String USAGE = "Usage: java src.spellchecker.SpellChecker"
+            + " [--engine=edits|parallel|symspell|trie|dawg] [--max-distance=N] [--threads=N]"
+            + " [--batch=FILE [--no-suggestions]] [--compiled=FILE] [--freq=FILE] [--top=K]"
+            + " [--cache=N] [--set=gtu|string|concurrent|frozen|dawg] [--probing=linear|robinhood]"
+            + " [--distance=levenshtein|weighted] [--bloom] [--dict=CODE:FILE]... [--lang=CODE]"
+            + " [--complete=K] [--server=PORT] [--reload=SECONDS] [--stats=FILE]";
+    private static final int DEFAULT_TOP = 10;
+    private static final String DEFAULT_DICTIONARY = "en:dictionary.txt";
+
+    // Where progress messages go; standard error in batch mode to keep the output clean
+    private static PrintStream status = System.out;
+
+    /**
+     * A loaded language with the engine (and cache) built for its dictionary.
+     */
+    private static final class LanguageContext {
+        private final Language language;
+        private final SuggestionEngine engine;
+        private final SuggestionCache cache; // null if caching is off
+        private volatile PrefixIndex completions; // null if completion is off; replaced on reload
+        private final GTUArrayList<String> customWords; // Added with "+word"; guarded by the dictionary
+
+        LanguageContext(Language language, SuggestionEngine engine, SuggestionCache cache,
+                PrefixIndex completions, GTUArrayList<String> customWords) {
+            this.language = language;
+            this.engine = engine;
+            this.cache = cache;
+            this.completions = completions;
+            this.customWords = customWords;
+        }
+    }
 
     public static void main(String[] args) throws IOException {
-        GTUHashSet<String> dictionary = new GTUHashSet<>(120000); // Estimate dictionary size for initial capacity
+        String engineName = "edits";
+        int maxDistance = 2;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String batchFile = null;
+        String compiledFile = null;
+        String frequencyFile = null;
+        int top = 0; // 0 means unranked
+        int cacheSize = 0; // 0 means no cache
+        String setType = "gtu";
+        ProbingStrategy probing = ProbingStrategy.LINEAR;
+        boolean suggest = true;
+        boolean weighted = false;
+        boolean bloom = false;
+        GTUArrayList<String> dictionaryFiles = new GTUArrayList<>(); // CODE:FILE
+        String activeCode = null; // null means the first dictionary
+        int completions = 0; // 0 means no prefix index
+        int serverPort = -1; // -1 means interactive
+        int reloadSeconds = 0; // 0 means the dictionaries are fixed
+        String statsFile = null; // null means queries are not instrumented
+        for (String arg : args) {
+            try {
+                if (arg.startsWith("--engine=")) {
+                    engineName = arg.substring("--engine=".length());
+                } else if (arg.startsWith("--max-distance=")) {
+                    maxDistance = Integer.parseInt(arg.substring("--max-distance=".length()));
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(arg.substring("--threads=".length()));
+                } else if (arg.startsWith("--batch=")) {
+                    batchFile = arg.substring("--batch=".length());
+                    status = System.err;
+                } else if (arg.startsWith("--compiled=")) {
+                    compiledFile = arg.substring("--compiled=".length());
+                } else if (arg.startsWith("--freq=")) {
+                    frequencyFile = arg.substring("--freq=".length());
+                } else if (arg.startsWith("--top=")) {
+                    top = Integer.parseInt(arg.substring("--top=".length()));
+                } else if (arg.startsWith("--cache=")) {
+                    cacheSize = Integer.parseInt(arg.substring("--cache=".length()));
+                } else if (arg.startsWith("--set=")) {
+                    setType = arg.substring("--set=".length());
+                } else if (arg.equals("--probing=linear")) {
+                    probing = ProbingStrategy.LINEAR;
+                } else if (arg.equals("--probing=robinhood")) {
+                    probing = ProbingStrategy.ROBIN_HOOD;
+                } else if (arg.equals("--distance=levenshtein")) {
+                    weighted = false;
+                } else if (arg.equals("--distance=weighted")) {
+                    weighted = true;
+                } else if (arg.startsWith("--dict=")) {
+                    dictionaryFiles.add(arg.substring("--dict=".length()));
+                } else if (arg.startsWith("--lang=")) {
+                    activeCode = arg.substring("--lang=".length());
+                } else if (arg.startsWith("--reload=")) {
+                    reloadSeconds = Integer.parseInt(arg.substring("--reload=".length()));
+                } else if (arg.startsWith("--server=")) {
+                    serverPort = Integer.parseInt(arg.substring("--server=".length()));
+                } else if (arg.startsWith("--stats=")) {
+                    statsFile = arg.substring("--stats=".length());
+                } else if (arg.startsWith("--complete=")) {
+                    completions = Integer.parseInt(arg.substring("--complete=".length()));
+                } else if (arg.equals("--bloom")) {
+                    bloom = true;
+                } else if (arg.equals("--no-suggestions")) {
+                    suggest = false;
+                } else {
+                    System.err.println("Unknown option: " + arg);
+                    System.err.println(USAGE);
+                    return;
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Not a number in option: " + arg);
+                System.err.println(USAGE);
+                return;
+            }
+        }
 
-        // Load dictionary from file
-        System.out.println("Loading dictionary...");
-        long loadStartTime = System.nanoTime();
-        BufferedReader reader = new BufferedReader(new FileReader("dictionary.txt"), 65536); // 64KB buffer
-        String word;
-        int count = 0;
-        while ((word = reader.readLine()) != null) {
-            dictionary.add(word.trim()); // Store words in lowercase
-            count++;
-        }
-        reader.close();
-        long loadEndTime = System.nanoTime();
-        System.out.printf("Dictionary loaded with %d words in %.2f ms.\n", count, (loadEndTime - loadStartTime) / 1e6);
+        if (dictionaryFiles.isEmpty()) {
+            dictionaryFiles.add(DEFAULT_DICTIONARY);
+        }
+        if (cacheSize < 0) {
+            System.err.println("--cache must be at least 1.");
+            return;
+        }
+        if (top < 0) {
+            System.err.println("--top must be at least 1.");
+            return;
+        }
+        if (completions < 0) {
+            System.err.println("--complete must be at least 1.");
+            return;
+        }
+        if (reloadSeconds < 0) {
+            System.err.println("--reload must be at least 1.");
+            return;
+        } else if (reloadSeconds > 0 && !engineName.equals("edits") && !engineName.equals("parallel")) {
+            // The other engines index a snapshot of the dictionary when they are built
+            System.err.println("--reload only works with the edits and parallel engines.");
+            return;
+        }
+        if (statsFile != null && serverPort >= 0) {
+            System.err.println("--stats cannot be used with --server; use its STATS command.");
+            return;
+        }
+        GTUHashMap<String, Integer> frequencies = null;
+        if (frequencyFile != null || top != 0 || weighted) {
+            frequencies = frequencyFile == null ? new GTUHashMap<>() : RankedSuggester.loadFrequencies(frequencyFile);
+        }
 
-        Scanner scanner = new Scanner(System.in); // Scanner is allowed
+        // Load every dictionary side by side, each with its own alphabet and engine
+        GTUHashMap<String, LanguageContext> contexts = new GTUHashMap<>();
+        GTUArrayList<LanguageContext> loaded = new GTUArrayList<>();
+        for (int i = 0; i < dictionaryFiles.size(); i++) {
+            String spec = dictionaryFiles.get(i);
+            int split = spec.indexOf(':');
+            if (split <= 0 || split == spec.length() - 1) {
+                System.err.println("--dict expects CODE:FILE, got: " + spec);
+                return;
+            }
+            String code = spec.substring(0, split);
+            String fileName = spec.substring(split + 1);
+            if (contexts.containsKey(code)) {
+                System.err.println("Language '" + code + "' is loaded twice.");
+                return;
+            }
+            String mappedFile = i == 0 ? compiledFile : null;
+            WordSet dictionary = loadWordSet(fileName, mappedFile, setType, probing, threads, bloom);
+            if (dictionary == null) {
+                System.err.println(USAGE);
+                return;
+            }
+            GTUArrayList<String> customWords = new GTUArrayList<>();
+            ReloadableWordSet reloadable = null;
+            if (reloadSeconds > 0) {
+                reloadable = reloadable(dictionary, fileName, mappedFile, setType, probing, threads, bloom,
+                        customWords);
+                dictionary = reloadable;
+            }
+
+            long alphabetStartTime = System.nanoTime();
+            char[] storedAlphabet = storedAlphabet(dictionary);
+            Language language = storedAlphabet != null ? new Language(code, dictionary, storedAlphabet)
+                    : new Language(code, dictionary);
+            status.printf("Language '%s': %d character alphabet %s in %.2f ms: %s\n", code,
+                    language.getAlphabet().length, storedAlphabet != null ? "read" : "derived",
+                    (System.nanoTime() - alphabetStartTime) / 1e6, new String(language.getAlphabet()));
+
+            SuggestionEngine engine = createEngine(engineName, language, maxDistance, threads, weighted);
+            if (engine == null) {
+                System.err.println(USAGE);
+                return;
+            }
+            if (frequencies != null) {
+                engine = new RankedSuggester(engine, frequencies, top == 0 ? DEFAULT_TOP : top, maxDistance, weighted);
+            }
+            SuggestionCache cache = null;
+            if (cacheSize > 0) {
+                cache = new SuggestionCache(engine, cacheSize);
+                engine = cache;
+            }
+            PrefixIndex prefixIndex = null;
+            if (completions > 0) {
+                long indexStartTime = System.nanoTime();
+                prefixIndex = new PrefixIndex(dictionary, frequencyFile == null ? null : frequencies);
+                status.printf("Prefix index built in %.2f ms: %d KB.\n", (System.nanoTime() - indexStartTime) / 1e6,
+                        prefixIndex.getMemoryBytes() / 1024);
+            }
+            LanguageContext context = new LanguageContext(language, engine, cache, prefixIndex, customWords);
+            contexts.put(code, context);
+            loaded.add(context);
+            if (reloadable != null) {
+                watchDictionary(reloadable, context, reloadSeconds, frequencyFile == null ? null : frequencies);
+            }
+        }
+        LanguageContext active = activeCode == null ? loaded.get(0) : contexts.get(activeCode);
+        if (active == null) {
+            System.err.println("No dictionary loaded for language '" + activeCode + "'.");
+            return;
+        }
+
+        if (serverPort >= 0) {
+            SpellServer server = new SpellServer(active.language, active.engine);
+            server.start(serverPort);
+            status.printf("Serving '%s' on %s:%d using %s threads; stop with Ctrl+C.\n", active.language.getCode(),
+                    "127.0.0.1", server.getPort(), server.usesVirtualThreads() ? "virtual" : "platform");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                status.println("check: " + server.getCheckLatency());
+                status.println("suggest: " + server.getSuggestLatency());
+                printCacheStatistics(loaded);
+            }));
+            return; // The acceptor thread keeps the JVM running
+        }
+
+        QueryMetrics metrics = statsFile == null ? null : new QueryMetrics();
+        if (batchFile != null) {
+            checkDocument(batchFile, active.language, suggest ? active.engine : null, metrics);
+            printCacheStatistics(loaded);
+            writeMetrics(metrics, statsFile);
+            return;
+        }
+
+        Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8); // Scanner is allowed
 
         // Main loop for user input
         while (true) {
             System.out.print("\nEnter a word (or type 'exit' to quit): ");
-            String input = scanner.nextLine().trim().toLowerCase();
+            if (!scanner.hasNextLine()) {
+                break;
+            }
+            String input = active.language.toLowerCase(scanner.nextLine().trim());
 
             if (input.equalsIgnoreCase("exit")) {
                 break;
@@ -42,47 +319,70 @@ public class SpellChecker {
             if (input.isEmpty()) {
                 continue;
             }
+            if (input.startsWith(":")) {
+                LanguageContext selected = contexts.get(input.substring(1).trim());
+                if (selected == null) {
+                    System.out.println("No dictionary loaded for language '" + input.substring(1).trim() + "'.");
+                } else {
+                    active = selected;
+                    System.out.println("Checking words in '" + active.language.getCode() + "'.");
+                }
+                continue;
+            }
+            if (input.endsWith("*") && active.completions != null) {
+                long startTime = System.nanoTime();
+                String prefix = input.substring(0, input.length() - 1);
+                GTUArrayList<String> found = active.completions.prefix(prefix, completions);
+                System.out.println(found.isEmpty() ? "No completions found." : "Completions: " + found);
+                System.out.printf("Completion took %.3f ms.\n", (System.nanoTime() - startTime) / 1e6);
+                continue;
+            }
+            WordSet dictionary = active.language.getDictionary();
+            WordSet current = dictionary instanceof ReloadableWordSet ? ((ReloadableWordSet) dictionary).current()
+                    : dictionary;
+            if (input.startsWith("+") && current instanceof ConcurrentWordSet) {
+                String custom = input.substring(1).trim();
+                boolean added = false;
+                if (!custom.isEmpty()) {
+                    // reload() holds the same lock, so a reload either copies the word or has already published
+                    synchronized (dictionary) {
+                        if (dictionary instanceof ReloadableWordSet) {
+                            current = ((ReloadableWordSet) dictionary).current();
+                        }
+                        added = ((ConcurrentWordSet) current).add(custom);
+                        if (added) {
+                            active.customWords.add(custom);
+                        }
+                    }
+                }
+                if (added) {
+                    System.out.println("'" + custom + "' added to the dictionary.");
+                } else {
+                    System.out.println("'" + custom + "' was not added.");
+                }
+                continue;
+            }
 
             long startTime = System.nanoTime();
 
             // Check if the word is in the dictionary
-            if (dictionary.contains(input)) {
+            if (dictionary.containsWord(input)) {
                 System.out.println("'" + input + "' is spelled correctly.");
             } else {
                 System.out.println("'" + input + "' is misspelled.");
                 System.out.print("Suggestions: ");
 
-                GTUArrayList<String> suggestions = new GTUArrayList<>();
-                GTUHashSet<String> uniqueSuggestions = new GTUHashSet<>(); // To ensure suggestions are unique
-
-                // Generate and check edit distance 1
-                GTUArrayList<String> edits1 = EditDistanceHelper.getEdits1List(input);
-                for (int i = 0; i < edits1.size(); ++i) {
-                    String variant1 = edits1.get(i);
-                    if (dictionary.contains(variant1)) {
-                        if (uniqueSuggestions.add(variant1)) { // add returns true if new
-                            suggestions.add(variant1);
-                        }
-                    }
-                }
-
-                // Generate and check edit distance 2
-                // For each variant from edits1, generate its edits1 list (these are edits2 from
-                // original)
-                for (int i = 0; i < edits1.size(); ++i) {
-                    String variant1 = edits1.get(i);
-                    // If variant1 itself is a valid word, we already added it.
-                    // Now, generate edits from variant1 to find edit distance 2 words from original
-                    // input.
-                    GTUArrayList<String> edits2_from_variant1 = EditDistanceHelper.getEdits1List(variant1);
-                    for (int j = 0; j < edits2_from_variant1.size(); ++j) {
-                        String variant2 = edits2_from_variant1.get(j);
-                        if (dictionary.contains(variant2)) {
-                            if (uniqueSuggestions.add(variant2)) {
-                                suggestions.add(variant2);
-                            }
-                        }
-                    }
+                QueryStats stats = null;
+                long allocatedBefore = 0;
+                long queryStartTime = 0;
+                GTUArrayList<String> suggestions;
+                if (metrics == null) {
+                    suggestions = active.engine.suggest(input);
+                } else {
+                    stats = new QueryStats();
+                    allocatedBefore = QueryMetrics.threadAllocatedBytes();
+                    queryStartTime = System.nanoTime();
+                    suggestions = active.engine.suggest(input, Integer.MAX_VALUE, stats);
                 }
 
                 if (suggestions.isEmpty()) {
@@ -90,6 +390,12 @@ public class SpellChecker {
                 } else {
                     System.out.println(suggestions.toString());
                 }
+                if (stats != null) {
+                    long queryNanos = System.nanoTime() - queryStartTime;
+                    long allocated = allocatedBefore < 0 ? -1 : QueryMetrics.threadAllocatedBytes() - allocatedBefore;
+                    metrics.record(input, stats, queryNanos, allocated, suggestions.size());
+                    System.out.println("Query: " + stats + (allocated < 0 ? "" : ", " + allocated / 1024 + " KB allocated"));
+                }
             }
 
             long endTime = System.nanoTime();
@@ -98,6 +404,369 @@ public class SpellChecker {
 
         // Close resources
         scanner.close();
+        printCacheStatistics(loaded);
+        writeMetrics(metrics, statsFile);
         System.out.println("Spell checker terminated.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads one dictionary into the selected kind of set.
+     * 
+     * @param fileName     The text dictionary.
+     * @param compiledFile A compiled dictionary to map instead, or null.
+     * @param setType      gtu, string, concurrent or frozen.
+     * @param probing      The collision strategy of a GTUHashSet.
+     * @param threads      Expected number of concurrent writers of a concurrent set.
+     * @param bloom        Whether to put a Bloom filter in front of the set.
+     * @return The dictionary, or null if the selection is invalid.
+     * @throws IOException If the file cannot be read.
+     */
+    private static WordSet loadWordSet(String fileName, String compiledFile, String setType,
+            ProbingStrategy probing, int threads, boolean bloom) throws IOException {
+        WordSet dictionary;
+        if (compiledFile != null) {
+            long mapStartTime = System.nanoTime();
+            dictionary = CompiledDictionary.open(compiledFile);
+            status.printf("Dictionary mapped with %d words in %.2f ms.\n", dictionary.size(),
+                    (System.nanoTime() - mapStartTime) / 1e6);
+        } else if (setType.equals("gtu")) {
+            dictionary = WordSet.of(loadDictionary(fileName, probing));
+        } else if (setType.equals("frozen")) {
+            GTUHashSet<String> loaded = loadDictionary(fileName, probing);
+            long freezeStartTime = System.nanoTime();
+            FrozenHashSet<String> frozen = loaded.freeze();
+            status.printf("Dictionary frozen in %.2f ms.\n", (System.nanoTime() - freezeStartTime) / 1e6);
+            dictionary = WordSet.of(frozen);
+        } else if (setType.equals("string")) {
+            dictionary = loadStringSet(fileName);
+        } else if (setType.equals("concurrent")) {
+            dictionary = loadConcurrentSet(fileName, threads);
+        } else if (setType.equals("dawg")) {
+            dictionary = loadDawg(fileName);
+        } else {
+            System.err.println("Unknown set type: " + setType);
+            return null;
+        }
+        if (bloom) {
+            if (dictionary instanceof ConcurrentWordSet) {
+                System.err.println("--bloom cannot be used with --set=concurrent: added words would miss the filter.");
+                return null;
+            }
+            long bloomStartTime = System.nanoTime();
+            BloomFilteredWordSet filtered = new BloomFilteredWordSet(dictionary);
+            status.printf("Bloom filter built in %.2f ms: %d KB, estimated false positive rate %.2f%%.\n",
+                    (System.nanoTime() - bloomStartTime) / 1e6, filtered.getFilterBytes() / 1024,
+                    100 * filtered.estimateFalsePositiveRate());
+            dictionary = filtered;
+        }
+        return dictionary;
+    }
+
+    /**
+     * Returns the alphabet stored in a compiled dictionary, so it does not have
+     * to be derived by iterating over every word of the mapped file.
+     *
+     * @param dictionary A dictionary returned by loadWordSet, possibly wrapped
+     *                   for reloading.
+     * @return The stored alphabet, or null if it has to be derived.
+     */
+    private static char[] storedAlphabet(WordSet dictionary) {
+        WordSet words = dictionary instanceof ReloadableWordSet ? ((ReloadableWordSet) dictionary).current()
+                : dictionary;
+        if (words instanceof BloomFilteredWordSet) {
+            words = ((BloomFilteredWordSet) words).getDictionary();
+        }
+        return words instanceof CompiledDictionary ? ((CompiledDictionary) words).getAlphabet() : null;
+    }
+
+    /**
+     * Wraps a loaded dictionary so it can be replaced by loading its file again
+     * the same way; the other parameters are those of loadWordSet. The file
+     * watched is the compiled dictionary if there is one. Words added to a
+     * concurrent set with "+word" are added again to every reloaded set.
+     *
+     * @param customWords The words added so far; read while reloading, under
+     *                    the lock of the returned set.
+     */
+    private static ReloadableWordSet reloadable(WordSet dictionary, String fileName, String compiledFile,
+            String setType, ProbingStrategy probing, int threads, boolean bloom, GTUArrayList<String> customWords) {
+        return new ReloadableWordSet(compiledFile != null ? compiledFile : fileName, dictionary, file -> {
+            WordSet reloaded = loadWordSet(fileName, compiledFile, setType, probing, threads, bloom);
+            if (reloaded == null) {
+                throw new IOException("Cannot reload " + file);
+            }
+            if (reloaded instanceof ConcurrentWordSet) {
+                for (String word : customWords) {
+                    ((ConcurrentWordSet) reloaded).add(word);
+                }
+            }
+            return reloaded;
+        });
+    }
+
+    /**
+     * Reloads a language's dictionary in the background whenever its file
+     * changes, then drops the cached suggestions and rebuilds the prefix index
+     * for the new words. Lookups keep running on the old dictionary meanwhile.
+     * The alphabet stays the one derived at startup.
+     */
+    private static void watchDictionary(ReloadableWordSet dictionary, LanguageContext context, int seconds,
+            GTUHashMap<String, Integer> frequencies) {
+        dictionary.addListener(new ReloadableWordSet.Listener() {
+            @Override
+            public void reloaded(WordSet words, long generation, long nanos) {
+                if (context.cache != null) {
+                    context.cache.invalidate();
+                }
+                if (context.completions != null) {
+                    context.completions = new PrefixIndex(words, frequencies);
+                }
+                status.printf("Dictionary '%s' reloaded from %s with %d words in %.2f ms (generation %d).\n",
+                        context.language.getCode(), dictionary.getFileName(), words.size(), nanos / 1e6, generation);
+            }
+
+            @Override
+            public void failed(IOException e) {
+                System.err.println("Reloading " + dictionary.getFileName() + " failed, keeping the old dictionary: "
+                        + e.getMessage());
+            }
+        });
+        dictionary.startWatching(seconds * 1000L);
+    }
+
+    // Prints the statistics of every language's cache.
+    private static void printCacheStatistics(GTUArrayList<LanguageContext> contexts) {
+        for (LanguageContext context : contexts) {
+            if (context.cache != null) {
+                status.println(contexts.size() > 1 ? context.language.getCode() + ": " + context.cache : context.cache);
+            }
+        }
+    }
+
+    /**
+     * Writes the query statistics as JSON, if queries were instrumented.
+     * 
+     * @param metrics  The recorded queries, or null.
+     * @param fileName The JSON file.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void writeMetrics(QueryMetrics metrics, String fileName) throws IOException {
+        if (metrics == null) {
+            return;
+        }
+        metrics.writeJson(fileName);
+        status.printf("Statistics of %d queries written to %s (latency %s).\n", metrics.getQueryCount(), fileName,
+                metrics.getLatency());
+    }
+
+    /**
+     * Loads a text dictionary (one word per line) into a GTUHashSet.
+     * 
+     * @param fileName The dictionary file.
+     * @param probing  The collision strategy of the set.
+     * @return The loaded words.
+     * @throws IOException If the file cannot be read.
+     */
+    private static GTUHashSet<String> loadDictionary(String fileName, ProbingStrategy probing) throws IOException {
+        GTUHashSet<String> dictionary = new GTUHashSet<>(16, probing); // addAll presizes from the word count
+
+        // Load dictionary from file
+        status.println("Loading dictionary...");
+        long loadStartTime = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName, StandardCharsets.UTF_8), 65536)) { // 64KB buffer
+            dictionary.addAll(reader.lines().map(String::trim));
+        }
+        long loadEndTime = System.nanoTime();
+        status.printf("Dictionary loaded with %d words in %.2f ms.\n", dictionary.size(),
+                (loadEndTime - loadStartTime) / 1e6);
+        int[] probes = dictionary.getProbeLengthHistogram();
+        status.printf("%s probing: %.1f%% of words in their home slot, longest probe %d.\n", probing,
+                100.0 * probes[0] / Math.max(dictionary.size(), 1), probes.length);
+        return dictionary;
+    }
+
+    /**
+     * Loads a text dictionary (one word per line) into a StringHashSet.
+     * 
+     * @param fileName The dictionary file.
+     * @return The loaded words.
+     * @throws IOException If the file cannot be read.
+     */
+    private static StringHashSet loadStringSet(String fileName) throws IOException {
+        StringHashSet dictionary = new StringHashSet(120000);
+        status.println("Loading dictionary...");
+        long loadStartTime = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName, StandardCharsets.UTF_8), 65536)) {
+            String word;
+            while ((word = reader.readLine()) != null) {
+                dictionary.add(word.trim());
+            }
+        }
+        status.printf("Dictionary loaded with %d words in %.2f ms.\n", dictionary.size(),
+                (System.nanoTime() - loadStartTime) / 1e6);
+        return dictionary;
+    }
+
+    /**
+     * Loads a text dictionary (one word per line) into a minimal automaton.
+     * 
+     * @param fileName The dictionary file.
+     * @return The loaded words.
+     * @throws IOException If the file cannot be read.
+     */
+    private static Dawg loadDawg(String fileName) throws IOException {
+        GTUArrayList<String> words = new GTUArrayList<>(120000);
+        status.println("Loading dictionary...");
+        long loadStartTime = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName, StandardCharsets.UTF_8), 65536)) {
+            String word;
+            while ((word = reader.readLine()) != null) {
+                words.add(word.trim());
+            }
+        }
+        Dawg dictionary = new Dawg(words);
+        status.printf("Dictionary loaded with %d words in %.2f ms: %d states, %d edges, %d KB.\n", dictionary.size(),
+                (System.nanoTime() - loadStartTime) / 1e6, dictionary.getStateCount(), dictionary.getEdgeCount(),
+                dictionary.getMemoryBytes() / 1024);
+        return dictionary;
+    }
+
+    /**
+     * Loads a text dictionary (one word per line) into a ConcurrentWordSet.
+     * 
+     * @param fileName    The dictionary file.
+     * @param concurrency Expected number of concurrent writers.
+     * @return The loaded words.
+     * @throws IOException If the file cannot be read.
+     */
+    private static ConcurrentWordSet loadConcurrentSet(String fileName, int concurrency) throws IOException {
+        ConcurrentWordSet dictionary = new ConcurrentWordSet(120000, Math.max(concurrency, 1));
+        status.println("Loading dictionary...");
+        long loadStartTime = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName, StandardCharsets.UTF_8), 65536)) {
+            String word;
+            while ((word = reader.readLine()) != null) {
+                dictionary.add(word.trim());
+            }
+        }
+        status.printf("Dictionary loaded with %d words in %.2f ms.\n", dictionary.size(),
+                (System.nanoTime() - loadStartTime) / 1e6);
+        return dictionary;
+    }
+
+    /**
+     * Creates the default engine, which probes the edits of the word in the
+     * language's dictionary. The limit of suggest(word, limit), e.g. the K of
+     * a RankedSuggester, skips the edit distance 2 pass once limit distance 1
+     * words are found.
+     * 
+     * @param language       The language whose dictionary and alphabet are used.
+     * @param transpositions Whether swapping adjacent characters is one edit.
+     * @return The engine.
+     */
+    static SuggestionEngine newEditsEngine(Language language, boolean transpositions) {
+        return new SuggestionEngine() {
+            @Override
+            public GTUArrayList<String> suggest(String word) {
+                return suggest(word, Integer.MAX_VALUE);
+            }
+
+            @Override
+            public GTUArrayList<String> suggest(String word, int limit) {
+                return EditDistanceHelper.generateSuggestions(word, language, limit, transpositions);
+            }
+
+            @Override
+            public GTUArrayList<String> suggest(String word, int limit, QueryStats stats) {
+                return EditDistanceHelper.generateSuggestions(word, language, limit, transpositions, stats);
+            }
+        };
+    }
+
+    /**
+     * Creates the suggestion engine selected on the command line.
+     * 
+     * @param name           The engine name.
+     * @param language       The loaded language; the edits and parallel engines
+     *                       use its alphabet.
+     * @param maxDistance    The maximum edit distance of suggestions.
+     * @param threads        Number of worker threads for the parallel engine.
+     * @param transpositions Whether the edits and parallel engines count a swap
+     *                       of adjacent letters as one edit.
+     * @return The engine, or null if the selection is invalid.
+     */
+    private static SuggestionEngine createEngine(String name, Language language, int maxDistance,
+            int threads, boolean transpositions) {
+        WordSet dictionary = language.getDictionary();
+        if (maxDistance < 1) {
+            System.err.println("Max distance must be at least 1.");
+            return null;
+        }
+        long start = System.nanoTime();
+        SuggestionEngine engine;
+        if ((name.equals("edits") || name.equals("parallel")) && maxDistance != 2) {
+            // Edits of edits grow combinatorially; use the trie for other distances
+            System.err.println("The " + name + " engine only supports --max-distance=2.");
+            return null;
+        }
+        switch (name) {
+            case "edits":
+                return newEditsEngine(language, transpositions);
+            case "parallel":
+                if (threads < 1) {
+                    System.err.println("Thread count must be at least 1.");
+                    return null;
+                }
+                return new ParallelSuggester(dictionary, threads, language.getAlphabet(), transpositions);
+            case "symspell":
+                status.println("Building symmetric-delete index...");
+                engine = new SymSpellIndex(dictionary, maxDistance);
+                break;
+            case "trie":
+                status.println("Building trie...");
+                engine = new TrieSuggester(dictionary, maxDistance);
+                break;
+            case "dawg":
+                Dawg dawg;
+                if (dictionary instanceof Dawg) {
+                    dawg = (Dawg) dictionary; // --set=dawg: search the dictionary itself
+                } else {
+                    status.println("Building automaton...");
+                    dawg = new Dawg(dictionary);
+                }
+                engine = new SuggestionEngine() {
+                    @Override
+                    public GTUArrayList<String> suggest(String word) {
+                        return dawg.search(word, maxDistance);
+                    }
+                };
+                break;
+            default:
+                System.err.println("Unknown engine: " + name);
+                return null;
+        }
+        status.printf("Engine '%s' built in %.2f ms.\n", name, (System.nanoTime() - start) / 1e6);
+        return engine;
+    }
+
+    /**
+     * Checks a whole file and writes its misspellings to standard output.
+     * 
+     * @param fileName The document to check.
+     * @param language The language of the document.
+     * @param engine   The suggestion engine, or null for no suggestions.
+     * @param metrics  Where the suggestion queries are recorded, or null.
+     * @throws IOException If the file cannot be read.
+     */
+    private static void checkDocument(String fileName, Language language, SuggestionEngine engine,
+            QueryMetrics metrics) throws IOException {
+        DocumentChecker checker = new DocumentChecker(language, engine);
+        checker.setMetrics(metrics);
+        try (Reader in = new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8);
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 65536)) {
+            checker.check(in, out);
+        }
+        status.printf("Checked %d words (%d misspelled) in %.2f ms: %.0f words/second.\n", checker.getWordCount(),
+                checker.getMisspelledCount(), checker.getElapsedNanos() / 1e6, checker.getWordsPerSecond());
+    }
+}
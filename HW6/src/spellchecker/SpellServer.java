@@ -0,0 +1,250 @@
+// File: SpellServer.java
+package src.spellchecker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-running spell check server on the loopback interface, so clients pay
+ * for JVM startup and dictionary loading only once.
+ * Every connection is handled by its own task: on a virtual thread when the
+ * JVM has them (Java 21 and later, looked up by reflection so the code still
+ * compiles and runs on Java 17), otherwise on a pooled platform thread. All
+ * tasks share the same read-only dictionary and suggestion engine.
+ *
+ * The protocol is line based, UTF-8, one response line per request line:
+ * <pre>
+ * CHECK word...        OK followed by + (correct) or - (misspelled) per word
+ * SUGGEST word [k]     OK followed by up to k suggestions, comma separated
+ * STATS                OK followed by the latency histogram of each command
+ * QUIT                 closes the connection
+ * </pre>
+ * Errors are answered with ERR and a message. CHECK takes any number of words,
+ * so a client can batch a whole line or document into one round trip.
+ * Responses are only flushed once no further request is waiting in the input,
+ * so pipelined requests are answered in batches too.
+ */
+public class SpellServer {
+    private static final int DEFAULT_SUGGESTIONS = 10;
+
+    private final Language language;
+    private final SuggestionEngine engine;
+    private final LatencyHistogram checkLatency = new LatencyHistogram();
+    private final LatencyHistogram suggestLatency = new LatencyHistogram();
+    private final ConcurrentGTUHashMap<Socket, Boolean> open = new ConcurrentGTUHashMap<>(); // Closed by stop()
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+    private boolean virtualThreads;
+
+    /**
+     * @param language The language whose dictionary is checked and whose rules
+     *                 lowercase the requests.
+     * @param engine   The suggestion engine; must be safe to call from several
+     *                 threads at once, as all the engines of this package are.
+     */
+    public SpellServer(Language language, SuggestionEngine engine) {
+        this.language = language;
+        this.engine = engine;
+    }
+
+    /**
+     * Binds to the port on the loopback interface and starts accepting
+     * connections on a background thread.
+     *
+     * @param port The port, or 0 to pick a free one.
+     * @throws IOException If the port cannot be bound.
+     */
+    public synchronized void start(int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Server already started");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        executor = newVirtualThreadExecutor();
+        virtualThreads = executor != null;
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "spell-server-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        ServerSocket listening = serverSocket;
+        ExecutorService connections = executor;
+        Thread acceptor = new Thread(() -> {
+            while (!listening.isClosed()) {
+                try {
+                    Socket socket = listening.accept();
+                    open.put(socket, Boolean.TRUE);
+                    try {
+                        connections.execute(() -> serve(socket));
+                    } catch (RejectedExecutionException e) {
+                        open.remove(socket); // Stopped while accepting
+                        socket.close();
+                    }
+                } catch (IOException e) {
+                    // Closed by stop(), or a failed accept; the loop condition decides
+                }
+            }
+        }, "spell-server-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * Creates Executors.newVirtualThreadPerTaskExecutor() if this JVM has it.
+     *
+     * @return The executor, or null before Java 21.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones.
+     */
+    public synchronized void stop() {
+        if (serverSocket == null) {
+            return;
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        executor.shutdownNow();
+        for (Socket socket : open.getKeys()) {
+            try {
+                socket.close(); // Unblocks its reader
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Returns the bound port, e.g. after starting on port 0.
+    public synchronized int getPort() {
+        return serverSocket == null ? -1 : serverSocket.getLocalPort();
+    }
+
+    // Checks if connections are served on virtual threads.
+    public synchronized boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public LatencyHistogram getCheckLatency() {
+        return checkLatency;
+    }
+
+    public LatencyHistogram getSuggestLatency() {
+        return suggestLatency;
+    }
+
+    // Answers the requests of one connection until the client quits or disconnects.
+    private void serve(Socket socket) {
+        try (Socket connection = socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(
+                        new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("QUIT")) {
+                    break;
+                }
+                out.write(handle(line));
+                out.write('\n');
+                if (!in.ready()) {
+                    out.flush(); // Nothing else pipelined; answer the batch
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // The client went away; nothing to answer
+        } finally {
+            open.remove(socket);
+        }
+    }
+
+    /**
+     * Executes one request line.
+     *
+     * @param line The request.
+     * @return The response line, without the line break.
+     */
+    String handle(String line) {
+        String[] parts = line.trim().split("\\s+");
+        if (parts[0].isEmpty()) {
+            return "ERR empty request";
+        }
+        String command = parts[0].toUpperCase(Locale.ROOT);
+        switch (command) {
+            case "CHECK":
+                return check(parts);
+            case "SUGGEST":
+                return suggest(parts);
+            case "STATS":
+                return "OK check: " + checkLatency + "; suggest: " + suggestLatency;
+            default:
+                return "ERR unknown command: " + parts[0];
+        }
+    }
+
+    private String check(String[] parts) {
+        long start = System.nanoTime();
+        StringBuilder response = new StringBuilder(3 + 2 * parts.length).append("OK");
+        WordSet dictionary = language.getDictionary();
+        for (int i = 1; i < parts.length; i++) {
+            response.append(dictionary.containsWord(language.toLowerCase(parts[i])) ? " +" : " -");
+        }
+        checkLatency.record(System.nanoTime() - start);
+        return response.toString();
+    }
+
+    private String suggest(String[] parts) {
+        if (parts.length < 2 || parts.length > 3) {
+            return "ERR usage: SUGGEST word [k]";
+        }
+        int k = DEFAULT_SUGGESTIONS;
+        if (parts.length == 3) {
+            try {
+                k = Integer.parseInt(parts[2]);
+            } catch (NumberFormatException e) {
+                k = 0;
+            }
+            if (k < 1) {
+                return "ERR k must be a positive number";
+            }
+        }
+        long start = System.nanoTime();
+        GTUArrayList<String> suggestions = engine.suggest(language.toLowerCase(parts[1]), k);
+        StringBuilder response = new StringBuilder("OK");
+        for (int i = 0; i < suggestions.size() && i < k; i++) {
+            response.append(i == 0 ? ' ' : ',').append(suggestions.get(i));
+        }
+        suggestLatency.record(System.nanoTime() - start);
+        return response.toString();
+    }
+}
@@ -0,0 +1,253 @@
+// File: StringHashSet.java
+package src.spellchecker;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Open-addressing hash set specialised for String keys.
+ * Compared to GTUHashSet (GTUHashSet -> GTUHashMap -> Entry -> key) the keys
+ * are stored directly in an array, next to a parallel array of their cached
+ * hash codes. A probe compares the int hash first and only calls equals on a
+ * match, so most collisions never touch the String. The capacity is a power of
+ * two and the slot is taken from the top bits of a multiplicative (Fibonacci)
+ * hash, replacing the modulo by a multiply and a shift.
+ * Deletion shifts the following cluster back instead of leaving tombstones.
+ */
+public class StringHashSet implements WordSet {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR_THRESHOLD = 0.5; // Short probe sequences for contains()
+
+    private String[] keys;
+    private int[] hashes;
+    private int size;
+    private int shift; // 32 - log2(capacity)
+
+    public StringHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize Number of elements the set should hold without growing.
+     */
+    public StringHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    // Smallest power of two that keeps expectedSize elements under the load factor.
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(expectedSize / LOAD_FACTOR_THRESHOLD) + 1;
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        size = 0;
+    }
+
+    // Home slot of a hash code: top bits of the hash times the golden ratio.
+    private int slotFor(int hashCode) {
+        return (hashCode * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Adds an element to the set.
+     *
+     * @param element The element to be added.
+     * @return true if the element was added, false if it already exists.
+     */
+    public boolean add(String element) {
+        int hash = element.hashCode();
+        int mask = keys.length - 1;
+        int index = slotFor(hash);
+        while (keys[index] != null) {
+            if (hashes[index] == hash && keys[index].equals(element)) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = element;
+        hashes[index] = hash;
+        size++;
+        if (size > keys.length * LOAD_FACTOR_THRESHOLD) {
+            resize(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the set contains the given element.
+     *
+     * @param element The element to search for.
+     * @return true if the element exists, false otherwise.
+     */
+    public boolean contains(String element) {
+        return indexOf(element) != -1;
+    }
+
+    @Override
+    public boolean containsWord(String word) {
+        return indexOf(word) != -1;
+    }
+
+    @Override
+    public boolean containsChars(char[] buffer, int length, int hashCode) {
+        int mask = keys.length - 1;
+        int index = slotFor(hashCode);
+        String key;
+        while ((key = keys[index]) != null) {
+            if (hashes[index] == hashCode && matches(key, buffer, length)) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public int probeLength(char[] buffer, int length, int hashCode) {
+        int mask = keys.length - 1;
+        int index = slotFor(hashCode);
+        int slots = 1;
+        String key;
+        while ((key = keys[index]) != null) {
+            if (hashes[index] == hashCode && matches(key, buffer, length)) {
+                return slots;
+            }
+            index = (index + 1) & mask;
+            slots++;
+        }
+        return slots; // The empty slot that ended the search counts too
+    }
+
+    private static boolean matches(String key, char[] buffer, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the slot holding element, or -1 if it is not in the set.
+    private int indexOf(String element) {
+        int hash = element.hashCode();
+        int mask = keys.length - 1;
+        int index = slotFor(hash);
+        String key;
+        while ((key = keys[index]) != null) {
+            if (hashes[index] == hash && key.equals(element)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes an element from the set.
+     *
+     * @param element The element to be removed.
+     * @return true if the element was removed, false if it was not present.
+     */
+    public boolean remove(String element) {
+        int index = indexOf(element);
+        if (index == -1) {
+            return false;
+        }
+        // Backward-shift deletion: move later cluster members into the hole
+        // when the hole lies on their probe path, so no tombstone is needed
+        int mask = keys.length - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (keys[next] != null) {
+            int home = slotFor(hashes[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                hashes[hole] = hashes[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = null;
+        hashes[hole] = 0;
+        size--;
+        return true;
+    }
+
+    private void resize(int newCapacity) {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int oldSize = size;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int index = slotFor(oldHashes[i]);
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                hashes[index] = oldHashes[i];
+            }
+        }
+        size = oldSize;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Checks if the set is empty.
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Returns the number of slots in the table.
+    public int capacity() {
+        return keys.length;
+    }
+
+    // Returns an iterator over the elements in the set.
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int index = advance(0);
+
+            private int advance(int from) {
+                while (from < keys.length && keys[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < keys.length;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String key = keys[index];
+                index = advance(index + 1);
+                return key;
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+// File: SuggestionCache.java
+package src.spellchecker;
+
+import java.util.Locale;
+
+/**
+ * Bounded LRU cache in front of a suggestion engine, keyed by the lowercase
+ * input word.
+ * Entries live in a GTUHashMap for lookup and in an intrusive doubly linked
+ * list ordered from most to least recently used, so a hit, an insert and an
+ * eviction are all O(1). Hit and miss counters help sizing the cache.
+ *
+ * Lookups and updates are synchronized, but suggestions are computed outside
+ * the lock. Returned lists are shared between callers and must not be modified.
+ */
+public class SuggestionCache implements SuggestionEngine {
+
+    /**
+     * A cached result, linked into the recency list.
+     */
+    private static class Node {
+        private final String key;
+        private final GTUArrayList<String> suggestions;
+        private Node previous;
+        private Node next;
+
+        Node(String key, GTUArrayList<String> suggestions) {
+            this.key = key;
+            this.suggestions = suggestions;
+        }
+    }
+
+    private final SuggestionEngine engine;
+    private final int capacity;
+    private GTUHashMap<String, Node> nodes;
+    private final Node head; // Sentinel; head.next is the most recently used node
+    private long generation; // Incremented by invalidate()
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param engine   The engine whose results are cached.
+     * @param capacity Maximum number of cached words.
+     */
+    public SuggestionCache(SuggestionEngine engine, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        this.engine = engine;
+        this.capacity = capacity;
+        this.nodes = new GTUHashMap<>((int) (capacity / 0.75) + 1);
+        this.head = new Node(null, null);
+        head.previous = head;
+        head.next = head;
+    }
+
+    @Override
+    public GTUArrayList<String> suggest(String word) {
+        return suggest(word, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Looks the word up; on a hit only the cache hit is counted in stats, on a
+     * miss the stats are handed to the cached engine.
+     */
+    @Override
+    public GTUArrayList<String> suggest(String word, int limit, QueryStats stats) {
+        String key = word.toLowerCase(Locale.ROOT); // Callers lowercase with their language's rules
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+            Node node = nodes.get(key);
+            if (node != null) {
+                hits++;
+                if (stats != null) {
+                    stats.cacheHit();
+                }
+                unlink(node);
+                linkFirst(node);
+                return node.suggestions;
+            }
+            misses++;
+        }
+
+        // Cached results must be complete, so the limit is not passed on
+        GTUArrayList<String> suggestions = stats == null ? engine.suggest(key)
+                : engine.suggest(key, Integer.MAX_VALUE, stats);
+
+        synchronized (this) {
+            // Another thread may have filled it meanwhile, or an invalidation made it stale
+            if (generation == startGeneration && nodes.get(key) == null) {
+                Node node = new Node(key, suggestions);
+                nodes.put(key, node);
+                linkFirst(node);
+                if (nodes.size() > capacity) {
+                    Node eldest = head.previous;
+                    unlink(eldest);
+                    nodes.remove(eldest.key);
+                    evictions++;
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Drops every cached result, e.g. after the dictionary was reloaded. The
+     * counters are kept.
+     */
+    public synchronized void invalidate() {
+        generation++; // Results computed before this point are not cached
+        nodes = new GTUHashMap<>((int) (capacity / 0.75) + 1);
+        head.previous = head;
+        head.next = head;
+    }
+
+    private void linkFirst(Node node) {
+        node.previous = head;
+        node.next = head.next;
+        head.next.previous = node;
+        head.next = node;
+    }
+
+    private void unlink(Node node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+    }
+
+    // Returns the number of cached words.
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    // Returns the fraction of lookups served from the cache.
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("SuggestionCache{size=%d, capacity=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.2f%%}",
+                nodes.size(), capacity, hits, misses, evictions, getHitRate() * 100);
+    }
+}
@@ -0,0 +1,43 @@
+// File: SuggestionEngine.java
+package src.spellchecker;
+
+/**
+ * Produces correction suggestions for a word that is not in the dictionary.
+ */
+public interface SuggestionEngine {
+
+    /**
+     * Generates suggestions for a misspelled word.
+     * 
+     * @param word The misspelled word (already lowercased).
+     * @return A GTUArrayList of unique suggested words.
+     */
+    GTUArrayList<String> suggest(String word);
+
+    /**
+     * Generates suggestions for a misspelled word when the caller only keeps the
+     * best limit of them. Engines may then skip the farther candidates once limit
+     * words at the smallest distance are found. By default the hint is ignored.
+     * 
+     * @param word  The misspelled word (already lowercased).
+     * @param limit Number of suggestions the caller keeps.
+     * @return A GTUArrayList of unique suggested words.
+     */
+    default GTUArrayList<String> suggest(String word, int limit) {
+        return suggest(word);
+    }
+
+    /**
+     * Generates suggestions like suggest(word, limit) and counts the work done
+     * for them in stats. Engines that cannot report their work leave the
+     * counters untouched and stats not marked as instrumented.
+     * 
+     * @param word  The misspelled word (already lowercased).
+     * @param limit Number of suggestions the caller keeps.
+     * @param stats The counters of this query.
+     * @return A GTUArrayList of unique suggested words.
+     */
+    default GTUArrayList<String> suggest(String word, int limit, QueryStats stats) {
+        return suggest(word, limit);
+    }
+}
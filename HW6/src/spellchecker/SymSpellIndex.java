@@ -0,0 +1,136 @@
+// File: SymSpellIndex.java
+package src.spellchecker;
+
+/**
+ * Symmetric-delete suggestion index (SymSpell).
+ * Every dictionary word is registered under each string obtainable from it by
+ * deleting up to maxDistance characters. A query only generates the deletes of
+ * the input and looks them up, instead of generating every insertion and
+ * substitution of the input.
+ */
+public class SymSpellIndex implements SuggestionEngine {
+    // Value is the single word for a delete, or a GTUArrayList<String> once shared
+    private final GTUHashMap<String, Object> deletes;
+    private final int maxDistance;
+    private int wordCount;
+
+    /**
+     * Builds the index from the words of the given dictionary.
+     * 
+     * @param dictionary  The dictionary of correct words.
+     * @param maxDistance The maximum edit distance of suggestions.
+     */
+    public SymSpellIndex(WordSet dictionary, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Illegal max distance: " + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+        // Roughly 35 distinct deletes per word at distance 2; presize to avoid rehashing
+        int expectedDeletes = dictionary.size() * (maxDistance == 0 ? 1 : 18 * maxDistance);
+        this.deletes = new GTUHashMap<>((int) (expectedDeletes / 0.75) + 1);
+        this.wordCount = 0;
+        for (String word : dictionary) {
+            addDeletes(word, word, maxDistance);
+            wordCount++;
+        }
+    }
+
+    // Registers word under key and every delete of key within the remaining distance.
+    @SuppressWarnings("unchecked")
+    private void addDeletes(String word, String key, int distance) {
+        Object bucket = deletes.get(key);
+        if (bucket == null) {
+            deletes.put(key, word); // Most deletes map to a single word
+        } else if (bucket == word) {
+            return; // Reached through another deletion order; already expanded
+        } else if (bucket instanceof String) {
+            GTUArrayList<String> words = new GTUArrayList<>(2);
+            words.add((String) bucket);
+            words.add(word);
+            deletes.put(key, words);
+        } else {
+            GTUArrayList<String> words = (GTUArrayList<String>) bucket;
+            if (words.get(words.size() - 1) == word) {
+                return;
+            }
+            words.add(word);
+        }
+        if (distance == 0) {
+            return;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            addDeletes(word, key.substring(0, i) + key.substring(i + 1), distance - 1);
+        }
+    }
+
+    /**
+     * Adds the word and every string reachable from it by up to distance
+     * deletions to the given set.
+     * 
+     * @param word     The original word.
+     * @param distance Number of deletions still allowed.
+     * @param out      The GTUHashSet collecting the deletes.
+     */
+    static void generateDeletes(String word, int distance, GTUHashSet<String> out) {
+        // Every path to a delete removes the same number of characters, so a
+        // string seen before has already been expanded to the same depth
+        if (!out.add(word) || distance == 0) {
+            return;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            generateDeletes(word.substring(0, i) + word.substring(i + 1), distance - 1, out);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public GTUArrayList<String> suggest(String word) {
+        GTUArrayList<String> suggestions = new GTUArrayList<>();
+        GTUHashSet<String> seen = new GTUHashSet<>();
+
+        GTUHashSet<String> queryDeletes = new GTUHashSet<>();
+        generateDeletes(word, maxDistance, queryDeletes);
+
+        for (String delete : queryDeletes) {
+            Object bucket = deletes.get(delete);
+            if (bucket == null) {
+                continue;
+            }
+            if (bucket instanceof String) {
+                verify(word, (String) bucket, seen, suggestions);
+            } else {
+                GTUArrayList<String> words = (GTUArrayList<String>) bucket;
+                for (int i = 0; i < words.size(); i++) {
+                    verify(word, words.get(i), seen, suggestions);
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    // Adds candidate to suggestions if it is new and really within maxDistance.
+    private void verify(String word, String candidate, GTUHashSet<String> seen, GTUArrayList<String> suggestions) {
+        if (!seen.add(candidate)) {
+            return;
+        }
+        // Shared deletes only bound the distance; check the real one
+        int distance = EditDistanceHelper.calculateEditDistance(word, candidate, maxDistance);
+        if (distance > 0 && distance <= maxDistance) {
+            suggestions.add(candidate);
+        }
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    // Returns the number of dictionary words in the index.
+    public int size() {
+        return wordCount;
+    }
+
+    // Returns the number of distinct delete keys in the index.
+    public int deleteCount() {
+        return deletes.size();
+    }
+}
@@ -1,6 +1,35 @@
 package src.spellchecker;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
 public class TestRunner {
+
+    private static GTUArrayList<String> toList(GTUHashSet<String> set) {
+        GTUArrayList<String> list = new GTUArrayList<>(set.size());
+        for (String element : set) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    // Returns the words in alphabetical order, for comparing engines that order them differently.
+    private static String sorted(GTUArrayList<String> words) {
+        GTUArrayList<String> copy = new GTUArrayList<>(words.size());
+        copy.addAll(words);
+        copy.sort(null);
+        return copy.toString();
+    }
+
     public static void main(String[] args) {
         // Test GTUHashMap
         System.out.println("Testing GTUHashMap...");
@@ -12,6 +41,42 @@ public class TestRunner {
         map.remove("one");
         System.out.println("Contains 'one' after removal: " + map.containsKey("one"));
 
+        // Test Robin Hood probing against java.util.HashMap with random puts and removes
+        System.out.println("\nTesting GTUHashMap with Robin Hood probing...");
+        GTUHashMap<String, Integer> robinHood = new GTUHashMap<>(4, ProbingStrategy.ROBIN_HOOD);
+        java.util.HashMap<String, Integer> reference = new java.util.HashMap<>();
+        java.util.Random random = new java.util.Random(42);
+        boolean robinHoodMatches = true;
+        for (int op = 0; op < 50000; op++) {
+            String key = "r" + random.nextInt(300); // Few keys, so most operations hit existing entries
+            if (random.nextInt(3) == 0) {
+                robinHoodMatches &= java.util.Objects.equals(robinHood.remove(key), reference.remove(key));
+            } else {
+                robinHood.put(key, op);
+                reference.put(key, op);
+            }
+            if (op % 1000 == 0) {
+                for (int k = 0; k < 300; k++) {
+                    robinHoodMatches &= java.util.Objects.equals(robinHood.get("r" + k), reference.get("r" + k));
+                }
+            }
+        }
+        int placed = 0;
+        for (int count : robinHood.getProbeLengthHistogram()) {
+            placed += count;
+        }
+        GTUArrayList<String> robinHoodKeys = robinHood.getKeys();
+        robinHoodKeys.sort(null);
+        GTUArrayList<String> expectedKeys = new GTUArrayList<>();
+        for (String key : reference.keySet()) {
+            expectedKeys.add(key);
+        }
+        expectedKeys.sort(null);
+        System.out.println("Matches java.util.HashMap: " + robinHoodMatches + ", same keys: "
+                + robinHoodKeys.toString().equals(expectedKeys.toString()) + ", size: " + robinHood.size()
+                + " (expected " + reference.size() + "), entries in probe histogram: " + placed + ", tombstones: "
+                + robinHood.getTombstoneCount());
+
         // Test GTUHashSet
         System.out.println("\nTesting GTUHashSet...");
         GTUHashSet<String> set = new GTUHashSet<>(10);
@@ -21,6 +86,519 @@ public class TestRunner {
         set.remove("apple");
         System.out.println("Contains 'apple' after removal: " + set.contains("apple"));
 
+        // Test GTUArrayList bulk operations and the primitive lists
+        System.out.println("\nTesting GTUArrayList bulk operations...");
+        GTUArrayList<String> letters = new GTUArrayList<>(0);
+        letters.addAll(new String[] { "d", "b", "a" });
+        letters.addAll(letters); // Appending a list to itself copies its current elements once
+        letters.sort(null);
+        System.out.println("Sorted (expected [a, a, b, b, d, d]): " + letters);
+        System.out.println("Removed at 2: " + letters.remove(2) + ", remaining: " + letters);
+        letters.trimToSize();
+        IntArrayList ints = new IntArrayList(0);
+        ints.addAll(new int[] { 5, 3, 9 });
+        ints.add(1);
+        ints.sort();
+        ints.removeAt(0);
+        CharArrayList packedChars = new CharArrayList();
+        packedChars.addAll("hello world".toCharArray(), 6, 5);
+        System.out.println("IntArrayList (expected [3, 5, 9]): " + ints + ", CharArrayList: " + packedChars);
+
+        // Test bulk loading and freezing
+        System.out.println("\nTesting GTUHashSet.addAll and freeze...");
+        GTUHashSet<String> bulk = new GTUHashSet<>();
+        int added = bulk.addAll(new String[] { "pear", "plum", "pear", "fig" });
+        System.out.println("Added (expected 3): " + added + ", size: " + bulk.size());
+        FrozenHashSet<String> frozen = bulk.freeze();
+        bulk.add("kiwi");
+        System.out.println("Frozen contains 'plum': " + frozen.contains("plum") + ", 'kiwi': "
+                + frozen.contains("kiwi") + ", size: " + frozen.size());
+
+        // Test zero-copy iteration and streams
+        System.out.println("\nTesting GTUHashSet iteration...");
+        int iterated = 0;
+        for (String fruit : bulk) {
+            iterated += fruit.isEmpty() ? 0 : 1;
+        }
+        System.out.println("Iterated (expected 4): " + iterated + ", parallel stream count: "
+                + bulk.parallelStream().count() + ", words with 'p': "
+                + bulk.stream().filter(fruit -> fruit.startsWith("p")).count());
+        try {
+            for (String fruit : bulk) {
+                bulk.add(fruit + "s");
+            }
+            System.out.println("Modification during iteration was not detected");
+        } catch (java.util.ConcurrentModificationException e) {
+            System.out.println("Modification during iteration detected");
+        }
+
+        // Test tombstone compaction and shrinking
+        System.out.println("\nTesting compaction and shrinking...");
+        GTUHashMap<String, Integer> rotating = new GTUHashMap<>();
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < 5000; i++) {
+                rotating.put("w" + round + "_" + i, i);
+            }
+            for (int i = 0; i < 4000; i++) {
+                rotating.remove("w" + round + "_" + i); // Rotate most of the list out
+            }
+        }
+        System.out.println("Size (expected 4000): " + rotating.size() + ", tombstones: "
+                + rotating.getTombstoneCount() + ", compactions: " + rotating.getCompactionCount());
+        for (int round = 0; round < 4; round++) {
+            for (int i = 4000; i < 5000; i++) {
+                rotating.remove("w" + round + "_" + i);
+            }
+        }
+        System.out.println("Capacity after emptying: " + rotating.capacity() + ", shrinks: "
+                + rotating.getShrinkCount() + ", reclaimed bytes: " + rotating.getReclaimedBytes());
+        GTUHashMap<String, Integer> presized = new GTUHashMap<>();
+        presized.ensureCapacity(10000);
+        int presizedCapacity = presized.capacity();
+        presized.put("first", 1);
+        presized.remove("first"); // Far below 1/8 load, but the table was sized on request
+        for (int i = 0; i < 10000; i++) {
+            presized.put("p" + i, i);
+        }
+        System.out.println("Presized capacity kept through remove and filling: "
+                + (presized.capacity() == presizedCapacity) + ", shrinks (expected 0): " + presized.getShrinkCount());
+        GTUHashMap<String, Integer> temporary = new GTUHashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            temporary.put("t" + i, i);
+        }
+        long reclaimedBefore = temporary.getReclaimedBytes();
+        temporary.clear();
+        presized.clear();
+        System.out.println("Capacity after clear (expected 17): " + temporary.capacity() + ", reclaimed by clear: "
+                + (temporary.getReclaimedBytes() - reclaimedBefore) + ", presized after clear unchanged: "
+                + (presized.capacity() == presizedCapacity));
+
+        // Test StringHashSet, including backward-shift removal in a cluster that wraps past the last slot
+        System.out.println("\nTesting StringHashSet...");
+        StringHashSet strings = new StringHashSet(0); // 16 slots
+        System.out.println("Added 'fig': " + strings.add("fig") + ", again: " + strings.add("fig") + ", contains: "
+                + strings.contains("fig") + ", removed: " + strings.remove("fig") + ", again: " + strings.remove("fig"));
+        GTUArrayList<String> wrapped = new GTUArrayList<>();
+        String homeZero = null;
+        for (int i = 0; wrapped.size() < 4 || homeZero == null; i++) {
+            String key = "k" + i;
+            int home = (key.hashCode() * 0x9E3779B9) >>> 28; // StringHashSet.slotFor with 16 slots
+            if (home == 15 && wrapped.size() < 4) {
+                wrapped.add(key);
+            } else if (home == 0 && homeZero == null) {
+                homeZero = key;
+            }
+        }
+        for (String key : wrapped) {
+            strings.add(key); // Slots 15, 0, 1, 2
+        }
+        strings.add(homeZero); // Slot 3, behind the wrapped keys
+        strings.remove(wrapped.get(0)); // Empties slot 15; the rest of the cluster shifts back one slot
+        IntArrayList probeLengths = new IntArrayList();
+        boolean wrappedFound = true;
+        for (int i = 1; i < wrapped.size(); i++) {
+            String key = wrapped.get(i);
+            wrappedFound &= strings.contains(key);
+            probeLengths.add(strings.probeLength(key.toCharArray(), key.length(), key.hashCode()));
+        }
+        wrappedFound &= strings.contains(homeZero);
+        probeLengths.add(strings.probeLength(homeZero.toCharArray(), homeZero.length(), homeZero.hashCode()));
+        System.out.println("After removal across the wrap, all found: " + wrappedFound + ", removed found: "
+                + strings.contains(wrapped.get(0)) + ", size: " + strings.size()
+                + ", probe lengths (expected [1, 2, 3, 3]): " + probeLengths);
+
+        // Test EditGenerator hashes and candidates against the String-based generator
+        System.out.println("\nTesting EditGenerator...");
+        boolean hashesMatch = true;
+        boolean sameCandidates = true;
+        for (String word : new String[] { "hello", "aab", "teh", "a", "" }) {
+            GTUHashSet<String> visited = new GTUHashSet<>();
+            boolean[] hashOk = { true };
+            EditGenerator.Visitor collect = (buffer, length, hashCode, distance) -> {
+                String variation = new String(buffer, 0, length);
+                hashOk[0] &= hashCode == variation.hashCode();
+                visited.add(variation);
+                return true;
+            };
+            new EditGenerator().forEachEdit(word, 2, collect);
+            new EditGenerator(true).forEachEdit(word, 2, collect); // Transposition hashes too
+            hashesMatch &= hashOk[0];
+
+            GTUHashSet<String> generated = new GTUHashSet<>();
+            new EditGenerator().forEachEdit(word, 2, (buffer, length, hashCode, distance) -> {
+                generated.add(new String(buffer, 0, length));
+                return true;
+            });
+            GTUHashSet<String> expected = new GTUHashSet<>();
+            EditDistanceHelper.generateEdits1(word, expected);
+            for (String edit : EditDistanceHelper.getEdits1List(word)) {
+                EditDistanceHelper.generateEdits1(edit, expected);
+            }
+            sameCandidates &= sorted(toList(generated)).equals(sorted(toList(expected)));
+        }
+        System.out.println("Every visited hash equals String.hashCode(): " + hashesMatch);
+        System.out.println("Distance 2 candidates equal generateEdits1 applied twice: " + sameCandidates);
+        int[] zeroEdits = new int[1];
+        boolean zeroCompleted = new EditGenerator().forEachEdit("hello", 0, (buffer, length, hashCode, distance) -> {
+            zeroEdits[0]++;
+            return true;
+        });
+        System.out.println("Edits within distance 0 (expected 0): " + zeroEdits[0] + ", completed: " + zeroCompleted);
+
+        // Test SymSpellIndex against the edits engine
+        System.out.println("\nTesting SymSpellIndex...");
+        GTUHashSet<String> fewWords = new GTUHashSet<>();
+        for (String word : new String[] { "from", "form", "farm", "forms", "fort", "cat", "cart", "act", "spell",
+                "spelling" }) {
+            fewWords.add(word);
+        }
+        SymSpellIndex symSpell = new SymSpellIndex(WordSet.of(fewWords), 2);
+        boolean sameAsEdits = true;
+        for (String word : new String[] { "frm", "fomr", "catt", "spelng", "xyz", "fo" }) {
+            sameAsEdits &= sorted(symSpell.suggest(word)).equals(
+                    sorted(EditDistanceHelper.generateSuggestions(word, fewWords)));
+        }
+        System.out.println("Same suggestions as the edits engine: " + sameAsEdits + ", for 'fomr': "
+                + sorted(symSpell.suggest("fomr")));
+        System.out.println("Distance kitten/sittin (expected 2): "
+                + EditDistanceHelper.calculateEditDistance("kitten", "sittin") + ", kitten/sitting capped at 2 (expected 3): "
+                + EditDistanceHelper.calculateEditDistance("kitten", "sitting", 2));
+        System.out.println("Transposition form/from counts as two edits (expected 2): "
+                + EditDistanceHelper.calculateEditDistance("form", "from"));
+
+        // Test TrieSuggester
+        System.out.println("\nTesting TrieSuggester...");
+        TrieSuggester trie = new TrieSuggester(WordSet.of(fewWords), 2);
+        boolean trieSameAsEdits = true;
+        for (String word : new String[] { "frm", "fomr", "catt", "spelng", "xyz", "fo" }) {
+            trieSameAsEdits &= sorted(trie.suggest(word)).equals(
+                    sorted(EditDistanceHelper.generateSuggestions(word, fewWords)));
+        }
+        System.out.println("Same suggestions as the edits engine: " + trieSameAsEdits + ", words: " + trie.size());
+        System.out.println("Within 1 of 'forx' (expected [form, fort]): "
+                + new TrieSuggester(WordSet.of(fewWords), 1).suggest("forx"));
+        System.out.println("Within 3 of 'speling' (expected [spelling, spell], closest first): "
+                + new TrieSuggester(WordSet.of(fewWords), 3).suggest("speling"));
+
+        // Test DocumentChecker tokenisation and offsets
+        System.out.println("\nTesting DocumentChecker...");
+        GTUHashSet<String> prose = new GTUHashSet<>();
+        for (String word : new String[] { "hello", "don't", "world", "o'clock" }) {
+            prose.add(word);
+        }
+        String document = "Hello, wrld! Don't stop at o\u2019clock 'world' dont'";
+        try {
+            StringWriter report = new StringWriter();
+            new DocumentChecker(WordSet.of(prose), null).check(new StringReader(document), report);
+            System.out.println("Misspellings (expected 7 wrld, 19 stop, 24 at, 43 dont): "
+                    + report.toString().trim().replace("\t\n", ", ").replace('\t', ' '));
+            // One char per read puts a block boundary between every two characters
+            StringReader slow = new StringReader(document);
+            Reader oneByOne = new Reader() {
+                @Override
+                public int read(char[] buffer, int offset, int length) throws IOException {
+                    return slow.read(buffer, offset, Math.min(length, 1));
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            StringWriter slowReport = new StringWriter();
+            new DocumentChecker(WordSet.of(prose), null).check(oneByOne, slowReport);
+            System.out.println("Same report across block boundaries: " + slowReport.toString().equals(report.toString()));
+        } catch (IOException e) {
+            System.out.println("DocumentChecker failed: " + e.getMessage());
+        }
+
+        // Test that the ranking limit reaches the default engine
+        System.out.println("\nTesting ranked edits engine...");
+        GTUHashSet<String> animals = new GTUHashSet<>();
+        animals.add("cat");
+        animals.add("cart");
+        animals.add("bat");
+        SuggestionEngine edits = SpellChecker.newEditsEngine(new Language("en", WordSet.of(animals)), false);
+        QueryStats unranked = new QueryStats();
+        QueryStats ranked = new QueryStats();
+        edits.suggest("cst", Integer.MAX_VALUE, unranked);
+        GTUArrayList<String> best = new RankedSuggester(edits, new GTUHashMap<>(), 1, 2).suggest("cst", 1, ranked);
+        System.out.println("Top 1 for 'cst': " + best + ", distance 2 pass skipped: " + (ranked.getCandidates2() == 0)
+                + " (unranked generates " + unranked.getCandidates2() + " distance 2 candidates)");
+
+        // Test weighted edit distance
+        System.out.println("\nTesting WeightedEditDistance...");
+        WeightedEditDistance weighted = new WeightedEditDistance();
+        System.out.println("hello/hwllo (adjacent key, expected 1): " + weighted.distance("hello", "hwllo"));
+        System.out.println("hello/hlelo (transposition, expected 1): " + weighted.distance("hello", "hlelo"));
+        System.out.println("hello/hxllo (substitution, expected 2): " + weighted.distance("hello", "hxllo"));
+        System.out.println("hello/help with max cost 1 (expected 2): " + weighted.distance("hello", "help", 1));
+        int[] transposed = new int[1];
+        new EditGenerator(true).forEachEdit("teh", 1, (buffer, length, hashCode, distance) -> {
+            if (new String(buffer, 0, length).equals("the") && hashCode == "the".hashCode()) {
+                transposed[0]++;
+            }
+            return true;
+        });
+        System.out.println("'the' generated from 'teh' with transpositions: " + (transposed[0] > 0));
+
+        // Test Bloom filter
+        System.out.println("\nTesting BloomFilteredWordSet...");
+        GTUHashSet<String> known = new GTUHashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            known.add("word" + i);
+        }
+        BloomFilteredWordSet filter = new BloomFilteredWordSet(WordSet.of(known));
+        boolean allFound = true;
+        for (int i = 0; i < 10000; i++) {
+            allFound &= filter.containsWord("word" + i);
+        }
+        int passed = 0;
+        for (int i = 0; i < 100000; i++) {
+            passed += filter.mightContain(("miss" + i).hashCode()) ? 1 : 0;
+        }
+        System.out.println("All words found: " + allFound + ", false positive rate under 2%: " + (passed < 2000)
+                + " (" + passed + " of 100000)");
+
+        // Test Language
+        System.out.println("\nTesting Language...");
+        GTUHashSet<String> turkish = new GTUHashSet<>();
+        turkish.add("kap\u0131"); // Ends in a dotless i
+        turkish.add("kitap");
+        turkish.add("\u0131slak"); // Starts with a dotless i
+        Language tr = new Language("tr", WordSet.of(turkish));
+        System.out.println("Alphabet size (expected 8): " + tr.getAlphabet().length + ", most frequent (expected a): "
+                + tr.getAlphabet()[0]);
+        System.out.println("ISLAK lowercased in Turkish is a word: " + turkish.contains(tr.toLowerCase("ISLAK"))
+                + ", char by char: " + (tr.toLowerCase('I') == '\u0131'));
+        System.out.println("Suggestions for 'kitab': "
+                + EditDistanceHelper.generateSuggestions("kitab", tr, Integer.MAX_VALUE, false));
+        System.out.println("Suggestions for 'kapi' (dotless i only in the Turkish alphabet): "
+                + EditDistanceHelper.generateSuggestions("kapi", tr, Integer.MAX_VALUE, false));
+
+        // Test the alphabet stored in a compiled dictionary
+        System.out.println("\nTesting CompiledDictionary...");
+        try {
+            java.io.File text = java.io.File.createTempFile("words", ".txt");
+            java.io.File compiled = java.io.File.createTempFile("words", ".bin");
+            text.deleteOnExit();
+            compiled.deleteOnExit();
+            java.nio.file.Files.write(text.toPath(),
+                    "kap\u0131\nkitap\n\u0131slak\nkitap\n".getBytes(StandardCharsets.UTF_8));
+            CompiledDictionary.compile(text.getPath(), compiled.getPath());
+            CompiledDictionary mapped = CompiledDictionary.open(compiled.getPath());
+            System.out.println("Size (expected 3): " + mapped.size() + ", contains 'kitap': "
+                    + mapped.containsWord("kitap") + ", stored alphabet equals derived: "
+                    + new String(mapped.getAlphabet()).equals(new String(Language.deriveAlphabet(mapped))));
+        } catch (IOException e) {
+            System.out.println("Compiling failed: " + e.getMessage());
+        }
+
+        // Test prefix completion
+        System.out.println("\nTesting PrefixIndex...");
+        GTUArrayList<String> typed = new GTUArrayList<>();
+        for (String word : new String[] { "help", "hello", "helmet", "hero", "he", "hello", "apple" }) {
+            typed.add(word);
+        }
+        GTUHashMap<String, Integer> counts = new GTUHashMap<>();
+        counts.put("helmet", 5);
+        counts.put("help", 9);
+        System.out.println("Completions of 'hel': " + new PrefixIndex(typed).prefix("hel", 2) + ", count: "
+                + new PrefixIndex(typed).countPrefix("hel"));
+        System.out.println("Ranked completions of 'hel' (expected [help, helmet, hello]): "
+                + new PrefixIndex(typed, counts).prefix("hel", 5));
+        System.out.println("Completions of 'hex': " + new PrefixIndex(typed).prefix("hex", 3));
+
+        // Test the word automaton
+        System.out.println("\nTesting Dawg...");
+        GTUArrayList<String> suffixes = new GTUArrayList<>();
+        for (String word : new String[] { "walking", "talking", "walked", "talked", "walk", "talk", "walking" }) {
+            suffixes.add(word);
+        }
+        Dawg dawg = new Dawg(suffixes);
+        System.out.println("Words: " + dawg.size() + " in " + dawg.getStateCount() + " states (a trie needs 19)");
+        System.out.println("Contains 'talked': " + dawg.containsWord("talked") + ", 'talke': "
+                + dawg.containsWord("talke"));
+        StringBuilder inOrder = new StringBuilder();
+        for (String word : dawg) {
+            inOrder.append(word).append(' ');
+        }
+        System.out.println("Iterated: " + inOrder.toString().trim());
+        System.out.println("Within 1 of 'walkd' (expected [walk, walked]): " + dawg.search("walkd", 1));
+        // Searches that reach the end of the longest word must not descend past it
+        System.out.println("Within 2 of 'talkingx' (expected [talking, walking]): " + dawg.search("talkingx", 2));
+        TrieSuggester suffixTrie = new TrieSuggester(suffixes, 2);
+        boolean sameAsTrie = true;
+        for (String word : new String[] { "talkingx", "walkingg", "talkedd", "xalking", "wa" }) {
+            sameAsTrie &= dawg.search(word, 2).toString().equals(suffixTrie.suggest(word).toString());
+        }
+        System.out.println("Matches TrieSuggester near the longest words: " + sameAsTrie);
+        GTUArrayList<String> single = new GTUArrayList<>();
+        single.add("a");
+        System.out.println("Within 1 of 'a' in {a} (expected []): " + new Dawg(single).search("a", 1)
+                + ", of 'b': " + new Dawg(single).search("b", 1) + ", empty automaton: "
+                + new Dawg(new GTUArrayList<>()).search("a", 1));
+
+        // Test the server
+        System.out.println("\nTesting SpellServer...");
+        GTUHashSet<String> served = new GTUHashSet<>();
+        served.addAll(new String[] { "hello", "help", "world" });
+        Language english = new Language("en", WordSet.of(served));
+        SpellServer server = new SpellServer(english,
+                word -> EditDistanceHelper.generateSuggestions(word, english, Integer.MAX_VALUE, false));
+        try {
+            server.start(0);
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                    BufferedReader in = new BufferedReader(
+                            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+                out.write("CHECK Hello wrld\nSUGGEST helo\nSTATS\n"); // Pipelined
+                out.flush();
+                System.out.println("CHECK Hello wrld (expected OK + -): " + in.readLine());
+                System.out.println("SUGGEST helo: " + in.readLine());
+                System.out.println("STATS starts with 'OK check: count=1': "
+                        + in.readLine().startsWith("OK check: count=1"));
+            }
+        } catch (IOException e) {
+            System.out.println("Server test failed: " + e);
+        } finally {
+            server.stop();
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        System.out.println("Histogram p50 within 12.5% of 500us: "
+                + (Math.abs(histogram.getPercentile(50) - 500000) <= 62500) + ", max: " + histogram.getMax());
+
+        // Test hot reloading
+        System.out.println("\nTesting ReloadableWordSet...");
+        int[] loads = new int[1];
+        ReloadableWordSet reloadable = new ReloadableWordSet("custom.txt", WordSet.of(new GTUHashSet<>()), file -> {
+            if (++loads[0] == 3) {
+                throw new IOException("Cannot read " + file);
+            }
+            GTUHashSet<String> generation = new GTUHashSet<>();
+            generation.add("custom" + loads[0]);
+            return WordSet.of(generation);
+        });
+        long[] published = new long[1];
+        int[] failures = new int[1];
+        reloadable.addListener(new ReloadableWordSet.Listener() {
+            @Override
+            public void reloaded(WordSet words, long generation, long nanos) {
+                published[0] = generation;
+            }
+
+            @Override
+            public void failed(IOException e) {
+                failures[0]++;
+            }
+        });
+        System.out.println("Reloaded: " + reloadable.reload() + ", generation: " + published[0] + ", contains 'custom1': "
+                + reloadable.containsWord("custom1"));
+        reloadable.reload();
+        System.out.println("After second reload, 'custom1': " + reloadable.containsWord("custom1") + ", 'custom2': "
+                + reloadable.containsWord("custom2") + ", generation: " + reloadable.getGeneration());
+        System.out.println("Failed reload returns: " + reloadable.reload() + ", failures: " + failures[0]
+                + ", still 'custom2': " + reloadable.containsWord("custom2") + ", generation (expected 2): "
+                + reloadable.getGeneration() + ", notified generation: " + published[0]);
+
+        // Test SuggestionCache
+        System.out.println("\nTesting SuggestionCache...");
+        SuggestionCache cache = new SuggestionCache(word -> {
+            GTUArrayList<String> result = new GTUArrayList<>();
+            result.add(word + "s");
+            return result;
+        }, 2);
+        cache.suggest("cat");
+        cache.suggest("dog");
+        cache.suggest("cat"); // hit, "dog" becomes least recently used
+        cache.suggest("owl"); // evicts "dog"
+        cache.suggest("dog"); // miss again
+        System.out.println("Suggestions for 'cat': " + cache.suggest("cat"));
+        System.out.println("Hits: " + cache.getHits() + ", misses: " + cache.getMisses() + ", evictions: "
+                + cache.getEvictions());
+        // A result computed while the cache is invalidated (e.g. by a reload) must not be stored
+        SuggestionCache[] racing = new SuggestionCache[1];
+        racing[0] = new SuggestionCache(word -> {
+            racing[0].invalidate(); // Happens between the miss and the insert
+            GTUArrayList<String> result = new GTUArrayList<>();
+            result.add(word + "-old");
+            return result;
+        }, 2);
+        racing[0].suggest("cat");
+        System.out.println("Cached after invalidation during compute (expected 0): " + racing[0].size());
+
+        // Test query instrumentation
+        System.out.println("\nTesting query instrumentation...");
+        GTUHashSet<String> small = new GTUHashSet<>();
+        small.add("cat");
+        small.add("cart");
+        QueryStats queryStats = new QueryStats();
+        GTUArrayList<String> found = EditDistanceHelper.generateSuggestions("cst", WordSet.of(small), Integer.MAX_VALUE,
+                new EditGenerator(), queryStats);
+        System.out.println("Suggestions for 'cst': " + found + ", " + queryStats);
+        QueryStats cachedStats = new QueryStats();
+        cache.suggest("cat", Integer.MAX_VALUE, cachedStats);
+        QueryMetrics queryMetrics = new QueryMetrics();
+        queryMetrics.record("cst", queryStats, 120_000, 2048, found.size());
+        queryMetrics.record("cat", cachedStats, 800, -1, 1);
+        System.out.println("Cache hit recorded: " + cachedStats.isCacheHit() + ", queries: "
+                + queryMetrics.getQueryCount() + ", cache hits: " + queryMetrics.getCacheHits());
+        QueryStats trieStats = new QueryStats();
+        GTUArrayList<String> trieFound = new TrieSuggester(WordSet.of(small), 2).suggest("cst", Integer.MAX_VALUE,
+                trieStats);
+        queryMetrics.record("cst", trieStats, 90_000, -1, trieFound.size());
+        System.out.println("Trie query: " + trieStats + ", uninstrumented queries (expected 1): "
+                + queryMetrics.getUninstrumentedQueries());
+        System.out.println("Probes JSON (expected count 1): " + queryMetrics.getProbes().toJson());
+
+        // Test ConcurrentGTUHashMap
+        System.out.println("\nTesting ConcurrentGTUHashMap...");
+        ConcurrentGTUHashMap<Integer, Integer> shared = new ConcurrentGTUHashMap<>(16, 4);
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            final int offset = t * 10000;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    shared.put(offset + i, i);
+                    shared.get(offset + i / 2); // Reads while other segments resize
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        System.out.println("Size after concurrent puts (expected 40000): " + shared.size());
+        System.out.println("Value for 39999: " + shared.get(39999));
+        shared.remove(39999);
+        System.out.println("Contains 39999 after removal: " + shared.containsKey(39999));
+
+        // Test incremental resizing
+        System.out.println("\nTesting incremental resizing...");
+        GTUHashMap<Integer, Integer> growing = new GTUHashMap<>(16, ProbingStrategy.LINEAR, true);
+        for (int i = 0; i < 1000; i++) {
+            growing.put(i, i * i);
+            if (i % 3 == 0) {
+                growing.remove(i / 2); // Removes from whichever table holds the key
+            }
+        }
+        boolean consistent = true;
+        for (int i = 0; i < 1000; i++) {
+            boolean removed = i <= 499 && i % 3 != 2; // Keys removed as i / 2 for multiples of 3
+            if (growing.containsKey(i) == removed) {
+                consistent = false;
+            }
+        }
+        System.out.println("Size (expected 666): " + growing.size() + ", lookups consistent: " + consistent);
+        growing.finishResize();
+        System.out.println("After finishResize, resizing: " + growing.isResizing() + ", get(998) = " + growing.get(998));
+
         System.out.println("\nAll tests completed!");
     }
 }
\ No newline at end of file
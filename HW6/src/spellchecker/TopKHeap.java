@@ -0,0 +1,120 @@
+// File: TopKHeap.java
+package src.spellchecker;
+
+import java.util.Comparator;
+
+/**
+ * Keeps the k smallest elements offered to it, according to a comparator.
+ * Internally a binary max-heap of at most k elements whose root is the worst
+ * element kept, so each offer costs O(log k) and memory stays O(k) no matter
+ * how many elements are offered.
+ * 
+ * @param <E> The type of elements kept.
+ */
+public class TopKHeap<E> {
+    private final Object[] heap;
+    private final Comparator<? super E> comparator;
+    private int size;
+
+    /**
+     * @param k          Number of elements to keep.
+     * @param comparator Orders elements from best to worst.
+     */
+    public TopKHeap(int k, Comparator<? super E> comparator) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Illegal k: " + k);
+        }
+        this.heap = new Object[k];
+        this.comparator = comparator;
+        this.size = 0;
+    }
+
+    /**
+     * Offers an element; it is kept if fewer than k elements are kept or it is
+     * better than the worst one kept.
+     * 
+     * @param element The element to offer.
+     * @return true if the element was kept, false otherwise.
+     */
+    public boolean offer(E element) {
+        if (size < heap.length) {
+            heap[size] = element;
+            siftUp(size++);
+            return true;
+        }
+        if (compare(element, elementAt(0)) >= 0) {
+            return false; // Not better than the worst element kept
+        }
+        heap[0] = element;
+        siftDown(0);
+        return true;
+    }
+
+    // Returns the number of elements kept.
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every element kept and returns them from best to worst.
+     * 
+     * @return A GTUArrayList of the kept elements, best first.
+     */
+    @SuppressWarnings("unchecked")
+    public GTUArrayList<E> drainSorted() {
+        Object[] sorted = new Object[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = heap[0]; // Root is the worst remaining element
+            heap[0] = heap[--size];
+            heap[size] = null;
+            siftDown(0);
+        }
+        GTUArrayList<E> result = new GTUArrayList<>(sorted.length);
+        result.addAll((E[]) sorted);
+        return result;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (compare(elementAt(index), elementAt(parent)) <= 0) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            if (left + 1 < size && compare(elementAt(left + 1), elementAt(left)) > 0) {
+                worst = left + 1;
+            }
+            if (compare(elementAt(worst), elementAt(index)) <= 0) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) heap[index];
+    }
+
+    private int compare(E a, E b) {
+        return comparator.compare(a, b);
+    }
+
+    private void swap(int i, int j) {
+        Object tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
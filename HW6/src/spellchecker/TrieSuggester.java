@@ -0,0 +1,136 @@
+// File: TrieSuggester.java
+package src.spellchecker;
+
+import java.util.Arrays;
+
+/**
+ * Suggestion engine that stores the dictionary in a trie and computes the
+ * Levenshtein distance row by row while descending it.
+ * Every trie edge appends one character to the candidate prefix, so each node
+ * only needs one new DP row computed from its parent's row. A subtree is pruned
+ * as soon as the smallest value in the row exceeds the maximum distance, which
+ * keeps larger distances (such as 3) affordable.
+ */
+public class TrieSuggester implements SuggestionEngine {
+
+    /**
+     * A trie node. Children are kept in small parallel arrays sorted by label.
+     */
+    private static class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private String word; // Non-null if a dictionary word ends here
+
+        // Returns the child for c, creating it if needed.
+        private Node getOrCreate(char c) {
+            int index = Arrays.binarySearch(labels, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+
+    private final Node root;
+    private final int maxDistance;
+    private int wordCount;
+    private int maxWordLength;
+
+    /**
+     * Builds the trie from the words of the given dictionary.
+     *
+     * @param dictionary  The dictionary of correct words.
+     * @param maxDistance The maximum edit distance of suggestions.
+     */
+    public TrieSuggester(Iterable<String> dictionary, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Illegal max distance: " + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+        this.root = new Node();
+        for (String word : dictionary) {
+            add(word);
+        }
+    }
+
+    // Inserts a word into the trie.
+    private void add(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.getOrCreate(word.charAt(i));
+        }
+        if (node.word == null) {
+            node.word = word;
+            wordCount++;
+            maxWordLength = Math.max(maxWordLength, word.length());
+        }
+    }
+
+    @Override
+    public GTUArrayList<String> suggest(String word) {
+        int columns = word.length() + 1;
+        int[][] rows = new int[maxWordLength + 1][columns]; // One reusable row per trie depth
+        for (int j = 0; j < columns; j++) {
+            rows[0][j] = j;
+        }
+
+        DistanceBuckets byDistance = new DistanceBuckets(maxDistance);
+
+        for (int i = 0; i < root.children.length; i++) {
+            search(root.children[i], root.labels[i], word, rows, 1, byDistance);
+        }
+
+        // Closest suggestions first; distance 0 is the word itself
+        return byDistance.closestFirst();
+    }
+
+    // Computes the DP row for node and descends while the row can stay within maxDistance.
+    private void search(Node node, char label, String word, int[][] rows, int depth,
+            DistanceBuckets byDistance) {
+        int[] previous = rows[depth - 1];
+        int[] current = rows[depth];
+        int columns = previous.length;
+
+        current[0] = previous[0] + 1;
+        int rowMin = current[0];
+        for (int j = 1; j < columns; j++) {
+            int cost = word.charAt(j - 1) == label ? 0 : 1;
+            int value = Math.min(previous[j - 1] + cost, Math.min(previous[j] + 1, current[j - 1] + 1));
+            current[j] = value;
+            if (value < rowMin) {
+                rowMin = value;
+            }
+        }
+
+        int distance = current[columns - 1];
+        if (node.word != null && distance <= maxDistance) {
+            byDistance.add(distance, node.word);
+        }
+
+        if (rowMin <= maxDistance) {
+            for (int i = 0; i < node.children.length; i++) {
+                search(node.children[i], node.labels[i], word, rows, depth + 1, byDistance);
+            }
+        }
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    // Returns the number of dictionary words in the trie.
+    public int size() {
+        return wordCount;
+    }
+}
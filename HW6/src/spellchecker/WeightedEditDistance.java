@@ -0,0 +1,163 @@
+// File: WeightedEditDistance.java
+package src.spellchecker;
+
+/**
+ * Keyboard-aware weighted Damerau-Levenshtein distance (optimal string
+ * alignment variant), used to rerank suggestions.
+ * A typo is usually a neighbouring key or two swapped letters, so those edits
+ * cost half of an ordinary insertion, deletion or substitution:
+ * "hwllo" (w next to e) and "hlelo" (swapped) both score below "hxllo".
+ * Costs are integers in half edits; the cost of n plain edits is n * EDIT_COST.
+ *
+ * The DP keeps only the rows it needs (the transposition looks two rows back)
+ * and reuses them between calls. Given a maximum cost it only fills the band
+ * of cells that can still be within it (Ukkonen's cut-off: |i - j| insertions
+ * or deletions alone would exceed it) and stops as soon as no cell of the last
+ * rows can lead back under the limit.
+ *
+ * An instance is not thread-safe; use one per thread.
+ */
+public class WeightedEditDistance {
+    public static final int EDIT_COST = 2; // Insertion, deletion or substitution
+    public static final int ADJACENT_KEY_COST = 1; // Substitution by a neighbouring key
+    public static final int TRANSPOSITION_COST = 1; // Two adjacent letters swapped
+
+    private static final String[] KEYBOARD_ROWS = { "qwertyuiop", "asdfghjkl", "zxcvbnm" };
+    private static final double[] ROW_OFFSETS = { 0, 0.25, 0.75 }; // Horizontal stagger of each row
+    private static final boolean[][] ADJACENT = buildAdjacency();
+
+    private int[] twoBack = new int[0];
+    private int[] previous = new int[0];
+    private int[] current = new int[0];
+
+    // Two letters are adjacent if their keys touch on a staggered QWERTY layout.
+    private static boolean[][] buildAdjacency() {
+        double[] x = new double[26];
+        int[] y = new int[26];
+        for (int row = 0; row < KEYBOARD_ROWS.length; row++) {
+            for (int column = 0; column < KEYBOARD_ROWS[row].length(); column++) {
+                int letter = KEYBOARD_ROWS[row].charAt(column) - 'a';
+                x[letter] = column + ROW_OFFSETS[row];
+                y[letter] = row;
+            }
+        }
+        boolean[][] adjacent = new boolean[26][26];
+        for (int a = 0; a < 26; a++) {
+            for (int b = 0; b < 26; b++) {
+                adjacent[a][b] = a != b && Math.abs(y[a] - y[b]) <= 1 && Math.abs(x[a] - x[b]) <= 1;
+            }
+        }
+        return adjacent;
+    }
+
+    /**
+     * Checks if two lowercase letters sit on neighbouring keys.
+     *
+     * @param a The first character.
+     * @param b The second character.
+     * @return true if both are letters a-z on touching keys.
+     */
+    public static boolean isAdjacentKey(char a, char b) {
+        return a >= 'a' && a <= 'z' && b >= 'a' && b <= 'z' && ADJACENT[a - 'a'][b - 'a'];
+    }
+
+    // Cost of replacing a by b.
+    private static int substitutionCost(char a, char b) {
+        if (a == b) {
+            return 0;
+        }
+        return isAdjacentKey(a, b) ? ADJACENT_KEY_COST : EDIT_COST;
+    }
+
+    /**
+     * Computes the weighted distance between two words.
+     *
+     * @param word1 The first word.
+     * @param word2 The second word.
+     * @return The weighted distance.
+     */
+    public int distance(String word1, String word2) {
+        return distance(word1, word2, Integer.MAX_VALUE / 2);
+    }
+
+    /**
+     * Computes the weighted distance between two words, giving up once it is
+     * certain to exceed maxCost.
+     *
+     * @param word1   The first word.
+     * @param word2   The second word.
+     * @param maxCost The largest cost the caller is interested in.
+     * @return The weighted distance, or maxCost + 1 if it exceeds maxCost.
+     */
+    public int distance(String word1, String word2, int maxCost) {
+        int n = word1.length();
+        int m = word2.length();
+        int infinity = maxCost + 1;
+        int band = maxCost / EDIT_COST; // Cells with |i - j| > band need more insertions/deletions than allowed
+        if (Math.abs(n - m) > band) {
+            return infinity;
+        }
+        ensureRows(m + 1);
+
+        int[] twoBack = this.twoBack;
+        int[] previous = this.previous;
+        int[] current = this.current;
+        int previousMin = 0;
+        int hi0 = Math.min(m, band);
+        for (int j = 0; j <= hi0; j++) {
+            previous[j] = j * EDIT_COST;
+        }
+        if (hi0 < m) {
+            previous[hi0 + 1] = infinity;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int lo = Math.max(1, i - band);
+            int hi = Math.min(m, i + band);
+            current[lo - 1] = lo == 1 ? Math.min(i * EDIT_COST, infinity) : infinity;
+            int rowMin = current[lo - 1];
+            char c1 = word1.charAt(i - 1);
+            for (int j = lo; j <= hi; j++) {
+                char c2 = word2.charAt(j - 1);
+                int value = Math.min(previous[j - 1] + substitutionCost(c1, c2),
+                        Math.min(previous[j] + EDIT_COST, current[j - 1] + EDIT_COST));
+                if (i > 1 && j > 1 && c1 != c2 && c1 == word2.charAt(j - 2) && word1.charAt(i - 2) == c2) {
+                    value = Math.min(value, twoBack[j - 2] + TRANSPOSITION_COST);
+                }
+                if (value > infinity) {
+                    value = infinity;
+                }
+                current[j] = value;
+                if (value < rowMin) {
+                    rowMin = value;
+                }
+            }
+            if (hi < m) {
+                current[hi + 1] = infinity; // Read as "above" by the next row
+            }
+            // Later rows build on this row, or on the previous one through a transposition
+            if (rowMin > maxCost && previousMin + TRANSPOSITION_COST > maxCost) {
+                return infinity;
+            }
+            previousMin = rowMin;
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        this.twoBack = twoBack;
+        this.previous = previous;
+        this.current = current;
+        return Math.min(previous[m], infinity);
+    }
+
+    // Grows the reusable rows to at least length cells.
+    private void ensureRows(int length) {
+        if (previous.length < length) {
+            int grown = Math.max(length, previous.length * 2);
+            twoBack = new int[grown];
+            previous = new int[grown];
+            current = new int[grown];
+        }
+    }
+}
@@ -0,0 +1,66 @@
+// File: WordSet.java
+package src.spellchecker;
+
+/**
+ * Read access to a dictionary of words, independent of how the words are stored.
+ * The suggestion engines and the document checker only need membership tests
+ * and, for the index based engines, iteration over the words.
+ */
+public interface WordSet extends Iterable<String> {
+
+    /**
+     * Checks if the dictionary contains the given word.
+     * 
+     * @param word The word to search for.
+     * @return true if the word exists, false otherwise.
+     */
+    boolean containsWord(String word);
+
+    /**
+     * Checks if the dictionary contains the word formed by the first length
+     * characters of buffer, without creating a String for the lookup.
+     * 
+     * @param buffer   The characters of the word.
+     * @param length   Number of characters of buffer that form the word.
+     * @param hashCode The String.hashCode() of those characters.
+     * @return true if the word exists, false otherwise.
+     */
+    boolean containsChars(char[] buffer, int length, int hashCode);
+
+    // Returns the number of words in the dictionary.
+    int size();
+
+    /**
+     * Counts the slots (or entries) a containsChars lookup of the word
+     * inspects, for instrumentation. Called in addition to containsChars, so
+     * it never slows down the uninstrumented path.
+     * 
+     * @param buffer   The characters of the word.
+     * @param length   Number of characters of buffer that form the word.
+     * @param hashCode The String.hashCode() of those characters.
+     * @return The number of inspected slots, or -1 if the set cannot tell.
+     */
+    default int probeLength(char[] buffer, int length, int hashCode) {
+        return -1;
+    }
+
+    /**
+     * Returns a WordSet view of a GTUHashSet of words.
+     * 
+     * @param set The set holding the words.
+     * @return A WordSet backed by the set.
+     */
+    static WordSet of(GTUHashSet<String> set) {
+        return new HashSetView(set::contains, set::containsChars, set::probeLength, set::size, set);
+    }
+
+    /**
+     * Returns a WordSet view of a FrozenHashSet of words.
+     * 
+     * @param set The set holding the words.
+     * @return A WordSet backed by the set.
+     */
+    static WordSet of(FrozenHashSet<String> set) {
+        return new HashSetView(set::contains, set::containsChars, set::probeLength, set::size, set);
+    }
+}